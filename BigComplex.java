@@ -0,0 +1,334 @@
+package edev.complex;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * This class represents a complex number whose parts are {@link BigDecimal}s,
+ * for workloads that need more than the sixteen digits of a double. Every
+ * operation rounds its result to the {@link MathContext} of the number it is
+ * called on, {@link MathContext#DECIMAL128} (34 digits) by default, instead of
+ * the rounding policy of {@link Complex}. Additions, subtractions and products
+ * of numbers with few digits are therefore exact.<br/>
+ * Big complex numbers are immutable and can be shared between threads. They
+ * are much slower than {@link Complex}: use them where precision matters more
+ * than throughput.
+ * 
+ * @author Ezeqèl
+ */
+public final class BigComplex implements ComplexNumber<BigComplex> {
+
+    /**
+     * The complex number one
+     */
+    public static final BigComplex ONE = new BigComplex(BigDecimal.ONE, BigDecimal.ZERO);
+
+    /**
+     * The complex number zero
+     */
+    public static final BigComplex ZERO = new BigComplex(BigDecimal.ZERO, BigDecimal.ZERO);
+
+    /**
+     * This static method returns the complex number real + imaginary i, each part
+     * taken from the shortest decimal form of the double, as
+     * {@link BigDecimal#valueOf(double)} does, so that 0.1 is exactly 0.1. It is
+     * the {@link ComplexNumber.Factory} of this class. The result uses
+     * {@link MathContext#DECIMAL128}. A {@link NumberFormatException} is thrown
+     * if a part is infinite or NaN.
+     * 
+     * @param real      the real part.
+     * @param imaginary the imaginary part.
+     * @return a new BigComplex object.
+     */
+    public static BigComplex valueOf(double real, double imaginary) {
+        return new BigComplex(BigDecimal.valueOf(real), BigDecimal.valueOf(imaginary));
+    }
+
+    private final MathContext context;
+
+    private final BigDecimal imaginaryPart;
+
+    private final BigDecimal realPart;
+
+    /**
+     * This constructor creates a complex number with the default context,
+     * {@link MathContext#DECIMAL128}. The parts are kept as given.
+     * 
+     * @param real      the real part.
+     * @param imaginary the imaginary part.
+     */
+    public BigComplex(BigDecimal real, BigDecimal imaginary) {
+        this(real, imaginary, MathContext.DECIMAL128);
+    }
+
+    /**
+     * This constructor creates a complex number whose operations round to the
+     * given context. The parts are kept as given.
+     * 
+     * @param real      the real part.
+     * @param imaginary the imaginary part.
+     * @param context   the precision and rounding mode of the results of
+     *                  operations.
+     */
+    public BigComplex(BigDecimal real, BigDecimal imaginary, MathContext context) {
+        this.realPart = Objects.requireNonNull(real, "real");
+        this.imaginaryPart = Objects.requireNonNull(imaginary, "imaginary");
+        this.context = Objects.requireNonNull(context, "context");
+    }
+
+    /**
+     * This method adds this complex number to another one.
+     * 
+     * @param number the complex number to be added.
+     * @return the sum of this number and number.
+     */
+    @Override
+    public BigComplex add(BigComplex number) {
+        return new BigComplex(realPart.add(number.realPart, context), imaginaryPart.add(number.imaginaryPart, context),
+                              context);
+    }
+
+    /**
+     * This method divides this complex number by another one, as (a + bi)(c -
+     * di) / (c^2 + d^2). An {@link ArithmeticException} is thrown if number is
+     * equal to zero.
+     * 
+     * @param number the complex number to divide by.
+     * @return the quotient of this number and number.
+     */
+    @Override
+    public BigComplex divide(BigComplex number) {
+        BigDecimal c = number.realPart;
+        BigDecimal d = number.imaginaryPart;
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(c.signum() == 0 && d.signum() == 0, "Division by zero");
+        BigDecimal divisor = c.multiply(c)
+                              .add(d.multiply(d));
+        BigDecimal real = realPart.multiply(c)
+                                  .add(imaginaryPart.multiply(d));
+        BigDecimal imaginary = imaginaryPart.multiply(c)
+                                            .subtract(realPart.multiply(d));
+        return new BigComplex(real.divide(divisor, context), imaginary.divide(divisor, context), context);
+    }
+
+    /**
+     * This method checks if this complex number is equal to another object. The
+     * parts are compared by value, so 1.0 and 1.00 are equal; the contexts are
+     * not compared.
+     * 
+     * @param object the object to compare this number to.
+     * @return true if object is a big complex number with the same parts, and
+     *         false otherwise.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof BigComplex) {
+            BigComplex other = (BigComplex) object;
+            return realPart.compareTo(other.realPart) == 0 && imaginaryPart.compareTo(other.imaginaryPart) == 0;
+        }
+        return false;
+    }
+
+    /**
+     * This method returns the context to which the results of the operations of
+     * this complex number are rounded.
+     * 
+     * @return the math context.
+     */
+    public MathContext getContext() {
+        return context;
+    }
+
+    /**
+     * This method returns the conjugate of this complex number.
+     * 
+     * @return the conjugate of this number.
+     */
+    @Override
+    public BigComplex getConjugate() {
+        return new BigComplex(realPart, imaginaryPart.negate(), context);
+    }
+
+    /**
+     * This method returns the imaginary part of this complex number, exactly.
+     * 
+     * @return the imaginary part.
+     */
+    public BigDecimal getImaginaryDecimal() {
+        return imaginaryPart;
+    }
+
+    /**
+     * This method returns the imaginary part of this complex number, as the
+     * nearest double.
+     * 
+     * @return the imaginary part.
+     */
+    @Override
+    public double getImaginaryPart() {
+        return imaginaryPart.doubleValue();
+    }
+
+    /**
+     * This method returns the magnitude of this complex number, as the nearest
+     * double.
+     * 
+     * @return the magnitude.
+     */
+    @Override
+    public double getMagnitude() {
+        return getMagnitudeDecimal().doubleValue();
+    }
+
+    /**
+     * This method returns the magnitude of this complex number, rounded to the
+     * context of this number.
+     * 
+     * @return the magnitude.
+     */
+    public BigDecimal getMagnitudeDecimal() {
+        return realPart.multiply(realPart)
+                       .add(imaginaryPart.multiply(imaginaryPart))
+                       .sqrt(context);
+    }
+
+    /**
+     * This method returns the real part of this complex number, exactly.
+     * 
+     * @return the real part.
+     */
+    public BigDecimal getRealDecimal() {
+        return realPart;
+    }
+
+    /**
+     * This method returns the real part of this complex number, as the nearest
+     * double.
+     * 
+     * @return the real part.
+     */
+    @Override
+    public double getRealPart() {
+        return realPart.doubleValue();
+    }
+
+    /**
+     * This method returns a hash code consistent with {@link #equals(Object)}.
+     * 
+     * @return the hash code of this number.
+     */
+    @Override
+    public int hashCode() {
+        return (31 * realPart.stripTrailingZeros()
+                             .hashCode())
+               + imaginaryPart.stripTrailingZeros()
+                              .hashCode();
+    }
+
+    /**
+     * This method returns the inverse of this complex number. An
+     * {@link ArithmeticException} is thrown if this number is equal to zero.
+     * 
+     * @return the inverse of this number.
+     */
+    @Override
+    public BigComplex inverse() {
+        return new BigComplex(BigDecimal.ONE, BigDecimal.ZERO, context).divide(this);
+    }
+
+    /**
+     * This method multiplies this complex number by another one.
+     * 
+     * @param number the complex number to multiply by.
+     * @return the product of this number and number.
+     */
+    @Override
+    public BigComplex multiply(BigComplex number) {
+        BigDecimal real = realPart.multiply(number.realPart)
+                                  .subtract(imaginaryPart.multiply(number.imaginaryPart), context);
+        BigDecimal imaginary = realPart.multiply(number.imaginaryPart)
+                                       .add(imaginaryPart.multiply(number.realPart), context);
+        return new BigComplex(real, imaginary, context);
+    }
+
+    /**
+     * This method raises this complex number to an integer power by repeated
+     * squaring, each step rounded to the context of this number, and returns the
+     * inverse for a negative exponent. An {@link ArithmeticException} is thrown
+     * if exponent is negative and this number is equal to zero.
+     * 
+     * @param exponent the integer power.
+     * @return this number raised to exponent.
+     */
+    @Override
+    public BigComplex power(int exponent) {
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(exponent < 0 && realPart.signum() == 0
+                                                         && imaginaryPart.signum() == 0, "Division by zero");
+        BigComplex result = new BigComplex(BigDecimal.ONE, BigDecimal.ZERO, context);
+        BigComplex base = this;
+        for (long remaining = Math.abs((long) exponent); remaining != 0; remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                result = result.multiply(base);
+            }
+            if (remaining > 1) {
+                base = base.multiply(base);
+            }
+        }
+        return exponent < 0 ? result.inverse() : result;
+    }
+
+    /**
+     * This method subtracts another complex number from this one.
+     * 
+     * @param number the complex number to be subtracted.
+     * @return the difference of this number and number.
+     */
+    @Override
+    public BigComplex subtract(BigComplex number) {
+        return new BigComplex(realPart.subtract(number.realPart, context),
+                              imaginaryPart.subtract(number.imaginaryPart, context), context);
+    }
+
+    /**
+     * This method returns this complex number as a {@link Complex}, its parts
+     * rounded to the nearest doubles and then by the rounding policy of Complex.
+     * 
+     * @return a new Complex object with the parts of this number.
+     */
+    public Complex toComplex() {
+        return new Complex(realPart.doubleValue(), imaginaryPart.doubleValue());
+    }
+
+    /**
+     * This method returns the external form of this complex number, as
+     * {@link Complex#toString()} does, with the parts in plain decimal notation,
+     * such as "0.1-2.5i".
+     * 
+     * @return the external form of this number.
+     */
+    @Override
+    public String toString() {
+        int realSign = realPart.signum(), imaginarySign = imaginaryPart.signum();
+        if (realSign == 0 && imaginarySign == 0) {
+            return "0";
+        }
+        StringBuilder builder = new StringBuilder();
+        if (realSign != 0) {
+            builder.append(realPart.toPlainString());
+        }
+        if (imaginarySign != 0) {
+            if (imaginarySign > 0 && realSign != 0) {
+                builder.append('+');
+            }
+            if (imaginaryPart.compareTo(BigDecimal.ONE) == 0) {
+                builder.append('i');
+            } else if (imaginaryPart.compareTo(BigDecimal.ONE.negate()) == 0) {
+                builder.append("-i");
+            } else {
+                builder.append(imaginaryPart.toPlainString())
+                       .append('i');
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -1,49 +1,169 @@
 package edev.complex;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import edev.complex.ComplexMetrics.Operation;
 
 /**
  * This class represents a complex number, which is a number that can be written
  * as a + bi, where a and b are real numbers, and i is the imaginary unit, which
  * is defined as i = sqrt(-1). Complex numbers are often used in electrical
- * engineering, physics, and other fields.
+ * engineering, physics, and other fields.<br/>
+ * Complex numbers are immutable. Use a {@link ComplexAccumulator} to build a
+ * result in place over many steps.<br/>
+ * Complex numbers, and every static method of this class, can be used from any
+ * number of threads without synchronization. The constructor,
+ * {@link #toString()} and {@link #parse(CharSequence)} share no mutable state:
+ * rounding is a pure function and {@link #toString()} formats into a new
+ * builder on every call. The public constants are final. The instance cache behind
+ * {@link #valueOf(double, double)} is a lock-free array of immutable values,
+ * and the roots of unity used by {@link #nthRoots(int)} are built once per
+ * order and then read without locking. The only global setting, the rounding
+ * policy, is held in a volatile field.
  * 
  * @author Ezeqèl
  */
-public class Complex {
+public final class Complex implements ComplexNumber<Complex> {
 
-    private static interface ExceptionHandler {
+    static interface ExceptionHandler {
 
         static final ExceptionHandler DIVISION_BY_ZERO = (condition, message) -> {
             if (condition) {
-                throw new ArithmeticException(message);
+                ArithmeticException exception = new ArithmeticException(message);
+                Metrics.exception(exception);
+                throw exception;
             }
         };
 
         void handle(boolean condition, String message);
     }
 
-    private static class Util {
+    private static class Cache {
+
+        private static final int GAUSSIAN_RANGE = 16;
+
+        private static final AtomicReferenceArray<Complex> VALUES = new AtomicReferenceArray<>(4096);
+
+        private static final Complex[] GAUSSIAN_INTEGERS = new Complex[(2 * GAUSSIAN_RANGE + 1) * (2 * GAUSSIAN_RANGE + 1)];
+        static {
+            for (int real = -GAUSSIAN_RANGE; real <= GAUSSIAN_RANGE; real++) {
+                for (int imaginary = -GAUSSIAN_RANGE; imaginary <= GAUSSIAN_RANGE; imaginary++) {
+                    Complex number = real == 0 && imaginary == 0 ? ZERO
+                            : real == 1 && imaginary == 0 ? ONE
+                            : real == 0 && imaginary == 1 ? I
+                            : new Complex(real, imaginary);
+                    GAUSSIAN_INTEGERS[index(real, imaginary)] = number;
+                }
+            }
+        }
+
+        private static int index(int real, int imaginary) {
+            return ((real + GAUSSIAN_RANGE) * (2 * GAUSSIAN_RANGE + 1)) + imaginary + GAUSSIAN_RANGE;
+        }
+
+        private static Complex valueOf(double real, double imaginary) {
+            int gaussianReal = (int) real;
+            int gaussianImaginary = (int) imaginary;
+            if (gaussianReal == real && gaussianImaginary == imaginary && Math.abs(gaussianReal) <= GAUSSIAN_RANGE
+                    && Math.abs(gaussianImaginary) <= GAUSSIAN_RANGE) {
+                return GAUSSIAN_INTEGERS[index(gaussianReal, gaussianImaginary)];
+            }
+            int slot = hash(real, imaginary) & (VALUES.length() - 1);
+            Complex cached = VALUES.get(slot);
+            if (cached != null && cached.realPart == real && cached.imaginaryPart == imaginary) {
+                return cached;
+            }
+            Complex number = new Complex(real, imaginary);
+            VALUES.lazySet(slot, number);
+            return number;
+        }
+    }
+
+    private static class Metrics {
+
+        private static final boolean ENABLED = Boolean.getBoolean(ComplexMetrics.PROPERTY);
+
+        private static final int SAMPLING = Math.max(1, Integer.getInteger(ComplexMetrics.SAMPLING_PROPERTY, 1024));
 
-        private static DecimalFormat df = new DecimalFormat(".##########");
+        private static volatile ComplexMetrics metrics = ComplexMetrics.NONE;
         static {
-            df.setGroupingSize(3);
-            df.setGroupingUsed(true);
-            DecimalFormatSymbols decimalFormatSymbols = df.getDecimalFormatSymbols();
-            decimalFormatSymbols.setGroupingSeparator(' ');
-            decimalFormatSymbols.setDecimalSeparator('.');
-            df.setDecimalFormatSymbols(decimalFormatSymbols);
+            if (ENABLED) {
+                metrics = ServiceLoader.load(ComplexMetrics.class)
+                                       .findFirst()
+                                       .orElse(ComplexMetrics.NONE);
+            }
+        }
+
+        private static void allocation() {
+            if (ENABLED) {
+                metrics.onAllocation();
+            }
+        }
+
+        private static void count(Operation operation) {
+            if (ENABLED) {
+                metrics.onOperation(operation);
+            }
+        }
+
+        private static void exception(RuntimeException exception) {
+            if (ENABLED) {
+                metrics.onException(exception);
+            }
+        }
+
+        private static long start(Operation operation) {
+            if (!ENABLED) {
+                return 0;
+            }
+            metrics.onOperation(operation);
+            return ThreadLocalRandom.current()
+                                    .nextInt(SAMPLING) == 0 ? System.nanoTime() : 0;
+        }
+
+        private static Complex stop(Operation operation, long start, Complex result) {
+            if (ENABLED && start != 0) {
+                metrics.onLatency(operation, System.nanoTime() - start);
+            }
+            return result;
+        }
+
+        private static void stop(Operation operation, long start, int size) {
+            if (ENABLED) {
+                if (start != 0) {
+                    metrics.onLatency(operation, System.nanoTime() - start);
+                }
+                metrics.onResultSize(operation, size);
+            }
         }
 
+        private static List<Complex> stop(Operation operation, long start, List<Complex> result) {
+            stop(operation, start, result.size());
+            return result;
+        }
+    }
+
+    private static class Util {
+
+        private static volatile RoundingPolicy roundingPolicy = RoundingPolicy.DEFAULT;
+
         private static double format(double value) {
-            return Double.parseDouble(df.format(value));
+            return roundingPolicy.round(value);
         }
     }
 
+    /**
+     * The absolute integer exponent beyond which {@link #power(int)} switches from
+     * repeated squaring to the polar form.
+     */
+    public static final int POLAR_POWER_THRESHOLD = 1 << 16;
+
     /**
      * The imaginary unit, which is defined as i = sqrt(-1).
      */
@@ -59,6 +179,16 @@ public class Complex {
      */
     public static final Complex ZERO = new Complex(0, 0);
 
+    private static final double ATAN_1 = 0.9998660;
+
+    private static final double ATAN_3 = -0.3302995;
+
+    private static final double ATAN_5 = 0.1801410;
+
+    private static final double ATAN_7 = -0.0851330;
+
+    private static final double ATAN_9 = 0.0208351;
+
     /**
      * This static method adds two complex numbers together. The parameters number1
      * and number2 are the two complex numbers to be added. The method returns a new
@@ -72,6 +202,22 @@ public class Complex {
         return number1.add(number2);
     }
 
+    /**
+     * This static method adds two complex numbers together into an accumulator.
+     * The parameters number1 and number2 are the two complex numbers to be added
+     * and result is the accumulator receiving their sum. No complex number is
+     * allocated.
+     * 
+     * @param number1 the complex number.
+     * @param number2 the complex number to be added.
+     * @param result  the accumulator receiving the sum of number1 and number2.
+     * @return the result accumulator.
+     */
+    public static ComplexAccumulator add(Complex number1, Complex number2, ComplexAccumulator result) {
+        return result.set(number1)
+                     .addInPlace(number2);
+    }
+
     /**
      * This static method adds a complex number and a real number together. The
      * parameters number is the complex number and value is the real number to be
@@ -101,6 +247,24 @@ public class Complex {
         return number1.divide(number2);
     }
 
+    /**
+     * This static method divides two complex numbers into an accumulator. The
+     * parameters number1 and number2 are the dividend and the divisor and result
+     * is the accumulator receiving their quotient. No complex number is allocated.
+     * An {@link ArithmeticException} is thrown if number2 is equal to the zero
+     * complex number.
+     * 
+     * @param number1 the dividend.
+     * @param number2 the divisor.
+     * @param result  the accumulator receiving the quotient of number1 and
+     *                number2.
+     * @return the result accumulator.
+     */
+    public static ComplexAccumulator divide(Complex number1, Complex number2, ComplexAccumulator result) {
+        return result.set(number1)
+                     .divideInPlace(number2);
+    }
+
     /**
      * This static method divides a complex number by a real number. The parameters
      * number is the complex number and value is the real number to be divided by.
@@ -115,6 +279,40 @@ public class Complex {
         return number.divide(value);
     }
 
+    /**
+     * This static method returns the complex number of the given magnitude and
+     * argument, magnitude * (cos(argument) + sin(argument) i).
+     * 
+     * @param magnitude the magnitude.
+     * @param argument  the argument (angle) in radians.
+     * @return a new Complex object holding the number.
+     */
+    public static Complex fromPolar(double magnitude, double argument) {
+        return new Complex(magnitude * Math.cos(argument), magnitude * Math.sin(argument));
+    }
+
+    /**
+     * This static method returns the implementation receiving the metrics of
+     * every operation, {@link ComplexMetrics#NONE} unless instrumentation was
+     * turned on by the system property {@value ComplexMetrics#PROPERTY}.
+     * 
+     * @return the current metrics implementation.
+     */
+    public static ComplexMetrics getMetrics() {
+        return Metrics.metrics;
+    }
+
+    /**
+     * This static method returns the rounding policy applied to the real and
+     * imaginary parts of every complex number when it is constructed. The default
+     * policy rounds them to ten decimal places.
+     * 
+     * @return the current rounding policy.
+     */
+    public static RoundingPolicy getRoundingPolicy() {
+        return Util.roundingPolicy;
+    }
+
     /**
      * This static method multiplies two complex numbers together. The parameters
      * number1 and number2 are the two complex numbers to be multiplied. The method
@@ -128,6 +326,22 @@ public class Complex {
         return number1.multiply(number2);
     }
 
+    /**
+     * This static method multiplies two complex numbers together into an
+     * accumulator. The parameters number1 and number2 are the two complex numbers
+     * to be multiplied and result is the accumulator receiving their product. No
+     * complex number is allocated.
+     * 
+     * @param number1 the complex number to be multiplied.
+     * @param number2 the complex number to be multiplied.
+     * @param result  the accumulator receiving the product of number1 and number2.
+     * @return the result accumulator.
+     */
+    public static ComplexAccumulator multiply(Complex number1, Complex number2, ComplexAccumulator result) {
+        return result.set(number1)
+                     .multiplyInPlace(number2);
+    }
+
     /**
      * This static method multiplies a complex number by a real number. The
      * parameters number is the complex number and value is the real number to be
@@ -147,7 +361,7 @@ public class Complex {
      * the integer order of the roots to find. The method returns a list of n
      * Complex objects, which are the nth roots of this number. If n is zero, then
      * an {@link ArithmeticException} is thrown. If this number is the zero complex
-     * number, then the method returns an empty list.
+     * number, then the method returns a list of n zeros.
      * 
      * @param number this complex number.
      * @param n      the integer order of the roots to find.
@@ -157,6 +371,24 @@ public class Complex {
         return number.nthRoots(n);
     }
 
+    /**
+     * This static method parses the external form of a complex number, as
+     * returned by {@link #toString()}. A {@link NumberFormatException} is thrown if
+     * the text is not such a form.
+     * 
+     * @param text the external form of a complex number.
+     * @return a new Complex object holding the parsed value.
+     */
+    public static Complex parse(CharSequence text) {
+        long start = Metrics.start(Operation.PARSE);
+        try {
+            return Metrics.stop(Operation.PARSE, start, ComplexFormat.parse(text));
+        } catch (NumberFormatException exception) {
+            Metrics.exception(exception);
+            throw exception;
+        }
+    }
+
     /**
      * This static method raises a complex number to a power. The parameters number
      * is the complex number to be raised to a power and exponent is the integer
@@ -171,11 +403,70 @@ public class Complex {
         return number.power(exponent);
     }
 
+    /**
+     * This static method raises a complex number to a real power. The parameters
+     * number is the complex number to be raised to a power and exponent is the
+     * real power to raise the number to. The method returns a new Complex object
+     * that is the principal value of number raised to the power of exponent.
+     * 
+     * @param number   the complex number to be raised to a power.
+     * @param exponent the real power to raise the number to.
+     * @return a new Complex object that is number raised to the power of exponent.
+     */
+    public static Complex power(Complex number, double exponent) {
+        return number.power(exponent);
+    }
+
+    /**
+     * This static method raises a complex number to a complex power. The
+     * parameters number is the complex number to be raised to a power and exponent
+     * is the complex power to raise the number to. The method returns a new Complex
+     * object that is the principal value of number raised to the power of
+     * exponent.
+     * 
+     * @param number   the complex number to be raised to a power.
+     * @param exponent the complex power to raise the number to.
+     * @return a new Complex object that is number raised to the power of exponent.
+     */
+    public static Complex power(Complex number, Complex exponent) {
+        return number.power(exponent);
+    }
+
+    /**
+     * This static method sets the implementation receiving the metrics of every
+     * operation from now on. An {@link IllegalStateException} is thrown if
+     * instrumentation was not turned on by the system property
+     * {@value ComplexMetrics#PROPERTY}, since the metrics would never be reported.
+     * 
+     * @param metrics the new metrics implementation, {@link ComplexMetrics#NONE}
+     *                to discard them.
+     */
+    public static void setMetrics(ComplexMetrics metrics) {
+        Objects.requireNonNull(metrics, "metrics");
+        if (!Metrics.ENABLED) {
+            throw new IllegalStateException("Metrics are disabled, set the system property " + ComplexMetrics.PROPERTY
+                                            + " to true");
+        }
+        Metrics.metrics = metrics;
+    }
+
+    /**
+     * This static method sets the rounding policy applied to the real and
+     * imaginary parts of every complex number constructed afterwards. The change is
+     * visible to all threads; numbers that already exist keep their values.
+     * 
+     * @param policy the new rounding policy, {@link RoundingPolicy#EXACT} to
+     *               disable rounding.
+     */
+    public static void setRoundingPolicy(RoundingPolicy policy) {
+        Util.roundingPolicy = Objects.requireNonNull(policy, "policy");
+    }
+
     /**
      * This method returns the square roots of this complex number. The method
      * returns a list of two Complex objects, which are the two square roots of this
-     * number. If this number is the zero complex number, then the method returns an
-     * empty list.
+     * number, the principal one first. If this number is the zero complex number,
+     * then the method returns a list of two zeros.
      * 
      * @param number the complex number.
      * @return a list of two Complex objects, which are the two square roots of this
@@ -198,6 +489,23 @@ public class Complex {
         return number1.subtract(number2);
     }
 
+    /**
+     * This static method subtracts one complex number from another into an
+     * accumulator. The parameters number1 and number2 are the two complex numbers
+     * and result is the accumulator receiving their difference. No complex number
+     * is allocated.
+     * 
+     * @param number1 the complex number.
+     * @param number2 the complex number.
+     * @param result  the accumulator receiving the difference of number1 and
+     *                number2.
+     * @return the result accumulator.
+     */
+    public static ComplexAccumulator subtract(Complex number1, Complex number2, ComplexAccumulator result) {
+        return result.set(number1)
+                     .subtractInPlace(number2);
+    }
+
     /**
      * This static method subtracts a real number from a complex number. The
      * parameters number is the complex number and value is the real number to be
@@ -212,13 +520,101 @@ public class Complex {
         return number.subtract(value);
     }
 
-    private double imaginaryPart;
+    /**
+     * This static method returns a complex number equal to new Complex(real,
+     * imaginary), sharing instances instead of allocating when it can. Gaussian
+     * integers with parts between -16 and 16, such as {@link #ZERO}, {@link #ONE}
+     * and {@link #I}, always come from a table. Other values go through a bounded,
+     * lock-free cache that keeps the most recently requested ones. The current
+     * rounding policy is applied before the lookup.
+     * 
+     * @param real      the real part.
+     * @param imaginary the imaginary part.
+     * @return a complex number equal to new Complex(real, imaginary).
+     */
+    public static Complex valueOf(double real, double imaginary) {
+        return Cache.valueOf(Util.format(real), Util.format(imaginary));
+    }
 
-    private double realPart;
+    static double approximateArgument(double real, double imaginary) {
+        double x = Math.abs(real);
+        double y = Math.abs(imaginary);
+        double max = Math.max(x, y);
+        double t = max == 0 ? 0 : Math.min(x, y) / max;
+        double t2 = t * t;
+        double angle = t * (ATAN_1 + (t2 * (ATAN_3 + (t2 * (ATAN_5 + (t2 * (ATAN_7 + (t2 * ATAN_9))))))));
+        angle = y > x ? (Math.PI / 2) - angle : angle;
+        angle = real < 0 ? Math.PI - angle : angle;
+        return imaginary < 0 ? -angle : angle;
+    }
+
+    static double magnitude(double real, double imaginary) {
+        double x = Math.abs(real);
+        double y = Math.abs(imaginary);
+        double max = Math.max(x, y);
+        if (max > 0x1p500 || max != max) {
+            if (x == Double.POSITIVE_INFINITY || y == Double.POSITIVE_INFINITY) {
+                return Double.POSITIVE_INFINITY;
+            }
+            x *= 0x1p-600;
+            y *= 0x1p-600;
+            return Math.sqrt((x * x) + (y * y)) * 0x1p600;
+        } else if (max < 0x1p-500) {
+            x *= 0x1p600;
+            y *= 0x1p600;
+            return Math.sqrt((x * x) + (y * y)) * 0x1p-600;
+        }
+        return Math.sqrt((x * x) + (y * y));
+    }
+
+    static boolean metricsEnabled() {
+        return Metrics.ENABLED;
+    }
+
+    private static int hash(double real, double imaginary) {
+        long bits = (31 * Double.doubleToLongBits(real + 0.0)) + Double.doubleToLongBits(imaginary + 0.0);
+        bits *= 0x9E3779B97F4A7C15L;
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    private static boolean same(double value1, double value2) {
+        return value1 == value2 || (value1 != value1 && value2 != value2);
+    }
+
+    private static Complex tangent(double real, double imaginary, boolean hyperbolic) {
+        double x = 2 * real, y = 2 * imaginary;
+        double tangentReal, tangentImaginary;
+        if (Math.abs(imaginary) > 20) {
+            tangentReal = 2 * Math.sin(x) * Math.exp(-Math.abs(y));
+            tangentImaginary = Math.copySign(1, imaginary);
+        } else {
+            double divisor = Math.cos(x) + Math.cosh(y);
+            tangentReal = Math.sin(x) / divisor;
+            tangentImaginary = Math.sinh(y) / divisor;
+        }
+        return hyperbolic ? new Complex(tangentImaginary, tangentReal) : new Complex(tangentReal, tangentImaginary);
+    }
+
+    private static Complex reciprocal(double real, double imaginary) {
+        if (Math.abs(real) >= Math.abs(imaginary)) {
+            double ratio = imaginary / real;
+            double divisor = real + (imaginary * ratio);
+            return new Complex(1 / divisor, -ratio / divisor);
+        } else {
+            double ratio = real / imaginary;
+            double divisor = (real * ratio) + imaginary;
+            return new Complex(ratio / divisor, -1 / divisor);
+        }
+    }
+
+    private final double imaginaryPart;
+
+    private final double realPart;
 
     public Complex(double real, double imaginary) {
-        this.setRealPart(real);
-        this.setImaginaryPart(imaginary);
+        this.realPart = Util.format(real);
+        this.imaginaryPart = Util.format(imaginary);
+        Metrics.allocation();
     }
 
     /**
@@ -230,6 +626,7 @@ public class Complex {
      * @return the sum of this number and number.
      */
     public Complex add(Complex number) {
+        Metrics.count(Operation.ADD);
         return new Complex(realPart + number.realPart, imaginaryPart + number.imaginaryPart);
     }
 
@@ -242,28 +639,61 @@ public class Complex {
      * @return the sum of this number and value.
      */
     public Complex add(double value) {
+        Metrics.count(Operation.ADD);
         return new Complex(realPart + value, imaginaryPart);
     }
 
+    /**
+     * This method returns the cosine of this complex number, cos(a) cosh(b) - i
+     * sin(a) sinh(b) for a + bi.
+     * 
+     * @return the cosine of this number.
+     */
+    public Complex cos() {
+        Metrics.count(Operation.COS);
+        return new Complex(Math.cos(realPart) * Math.cosh(imaginaryPart), -Math.sin(realPart) * Math.sinh(imaginaryPart));
+    }
+
+    /**
+     * This method returns the hyperbolic cosine of this complex number, cosh(a)
+     * cos(b) + i sinh(a) sin(b) for a + bi.
+     * 
+     * @return the hyperbolic cosine of this number.
+     */
+    public Complex cosh() {
+        Metrics.count(Operation.COSH);
+        return new Complex(Math.cosh(realPart) * Math.cos(imaginaryPart), Math.sinh(realPart) * Math.sin(imaginaryPart));
+    }
+
     /**
      * This method divides this complex number by another complex number. The
      * parameter number is the complex number to divide by. The method returns a new
      * Complex object that is the quotient of this number and number. An
      * {@link ArithmeticException} is thrown if number is equal to the zero complex
-     * number.
+     * number.<br/>
+     * The quotient is computed with Smith's algorithm, which divides by the larger
+     * part of number first, so that no intermediate overflows or underflows when
+     * the result itself is representable.
      * 
      * @param number the complex number to divide by.
      * @return the quotient of this number and number.
      */
     public Complex divide(Complex number) {
-        ExceptionHandler.DIVISION_BY_ZERO.handle(number.equals(ZERO), "Division by zero");
-        Complex conjugate = number.getConjugate();
-        Complex dividend = this.multiply(conjugate);
-        double divisor = number.multiply(conjugate)
-                               .getRealPart();
-        double real = dividend.getRealPart() / divisor;
-        double imaginary = dividend.getImaginaryPart() / divisor;
-        return new Complex(real, imaginary);
+        Metrics.count(Operation.DIVIDE);
+        double c = number.realPart;
+        double d = number.imaginaryPart;
+        ExceptionHandler.DIVISION_BY_ZERO.handle(c == 0 && d == 0, "Division by zero");
+        if (Math.abs(c) >= Math.abs(d)) {
+            double ratio = d / c;
+            double divisor = c + (d * ratio);
+            return new Complex((realPart + (imaginaryPart * ratio)) / divisor,
+                               (imaginaryPart - (realPart * ratio)) / divisor);
+        } else {
+            double ratio = c / d;
+            double divisor = (c * ratio) + d;
+            return new Complex(((realPart * ratio) + imaginaryPart) / divisor,
+                               ((imaginaryPart * ratio) - realPart) / divisor);
+        }
     }
 
     /**
@@ -276,50 +706,68 @@ public class Complex {
      * @return the quotient of this number and value.
      */
     public Complex divide(double value) {
-        return this.divide(new Complex(value, 0));
+        Metrics.count(Operation.DIVIDE);
+        ExceptionHandler.DIVISION_BY_ZERO.handle(value == 0, "Division by zero");
+        return new Complex(realPart / value, imaginaryPart / value);
     }
 
+    /**
+     * This method checks if this complex number is equal to another object. The
+     * method returns true if object is a complex number with the same real and
+     * imaginary parts. As with ==, 0.0 and -0.0 are equal; unlike ==, NaN is equal
+     * to NaN, so that complex numbers can be used as keys of hash-based
+     * collections.
+     * 
+     * @param object the object to compare this number to.
+     * @return true if this number is equal to object, and false otherwise.
+     */
     @Override
     public boolean equals(Object object) {
         if (object instanceof Complex) {
             Complex other = (Complex) object;
-            return realPart == other.realPart && imaginaryPart == other.imaginaryPart;
+            return same(realPart, other.realPart) && same(imaginaryPart, other.imaginaryPart);
         }
         return false;
     }
 
     /**
-     * This method returns the argument (angle) of this complex number. The method
-     * returns the angle in radians. If this number is the zero complex number, then
-     * the method returns 0. If the real part of this number is zero, then the
-     * method returns Math.PI/2 if the imaginary part is positive, and -Math.PI/2 if
-     * the imaginary part is negative. Otherwise, the method calculates the angle
-     * using the Math.atan() function.
+     * This method returns the exponential of this complex number, e^a (cos(b) + i
+     * sin(b)) for a + bi.
+     * 
+     * @return the exponential of this number.
+     */
+    public Complex exp() {
+        Metrics.count(Operation.EXP);
+        double modulus = Math.exp(realPart);
+        return new Complex(modulus * Math.cos(imaginaryPart), modulus * Math.sin(imaginaryPart));
+    }
+
+    /**
+     * This method returns an approximation of the argument (angle) of this
+     * complex number, in radians, within 1.2e-5 of {@link #getArgument()}. It
+     * evaluates the polynomial of Abramowitz and Stegun (4.4.49) for the
+     * arctangent on the first octant and maps the result to the right quadrant,
+     * which is several times faster than {@link Math#atan2(double, double)}. It is
+     * meant for visualization and signal processing paths that do not need full
+     * precision. The argument of a number with an infinite part is NaN.
+     * 
+     * @return the approximate angle in radians.
+     */
+    public double getApproximateArgument() {
+        return approximateArgument(realPart, imaginaryPart);
+    }
+
+    /**
+     * This method returns the argument (angle) of this complex number, in radians,
+     * between -Math.PI and Math.PI, as computed by
+     * {@link Math#atan2(double, double)}. The argument of the zero complex number
+     * is 0, and the argument of a negative real number is Math.PI whatever the
+     * sign of its zero imaginary part.
      * 
      * @return the angle in radians.
      */
     public double getArgument() {
-        final double PI = Math.PI;
-        if (this.equals(ZERO)) {
-            return 0;
-        } else if (realPart == 0) {
-            return imaginaryPart > 0 ? PI / 2 : -PI / 2;
-        } else if (imaginaryPart == 0) {
-            return realPart > 0 ? 0 : PI;
-        } else {
-            double x = Math.abs(realPart);
-            double y = Math.abs(imaginaryPart);
-            double angle = Math.atan(y / x);
-            if (realPart > 0 && imaginaryPart > 0) {
-                return angle;
-            } else if (realPart < 0 && imaginaryPart > 0) {
-                return PI - angle;
-            } else if (realPart < 0 && imaginaryPart < 0) {
-                return PI + angle;
-            } else {
-                return -angle;
-            }
-        }
+        return Math.atan2(imaginaryPart + 0.0, realPart + 0.0);
     }
 
     /**
@@ -345,13 +793,16 @@ public class Complex {
 
     /**
      * This method returns the magnitude (absolute value) of this complex number.
-     * The magnitude of a complex number a + bi is sqrt(a^2 + b^2). The method
-     * returns the magnitude of this number.
+     * The magnitude of a complex number a + bi is sqrt(a^2 + b^2). Unlike the
+     * naive formula, the method neither overflows nor underflows: parts beyond
+     * 2^500 or below 2^-500 are scaled by a power of two first, so the result is
+     * as accurate as for ordinary values, and is infinite only if a part is. It is
+     * faster than {@link Math#hypot(double, double)}.
      * 
      * @return the magnitude of this number.
      */
     public double getMagnitude() {
-        return Math.sqrt((realPart * realPart) + (imaginaryPart * imaginaryPart));
+        return magnitude(realPart, imaginaryPart);
     }
 
     /**
@@ -364,16 +815,45 @@ public class Complex {
         return realPart;
     }
 
+    /**
+     * This method returns a hash code for this complex number, consistent with
+     * {@link #equals(Object)}: 0.0 and -0.0 hash alike, as do all NaN values.
+     * 
+     * @return the hash code of this number.
+     */
+    @Override
+    public int hashCode() {
+        return hash(realPart, imaginaryPart);
+    }
+
     /**
      * This method returns the inverse of this complex number. The inverse of a
      * complex number a + bi is (a - bi)/(a^2 + b^2). The method returns a new
-     * Complex object that is the inverse of this number.
+     * Complex object that is the inverse of this number. An
+     * {@link ArithmeticException} is thrown if this number is the zero complex
+     * number.
      * 
      * @return the inverse of this number.
      */
     public Complex inverse() {
-        Complex conjugate = this.getConjugate();
-        return conjugate.divide(this.multiply(conjugate));
+        Metrics.count(Operation.INVERSE);
+        ExceptionHandler.DIVISION_BY_ZERO.handle(realPart == 0 && imaginaryPart == 0, "Division by zero");
+        return reciprocal(realPart, imaginaryPart);
+    }
+
+    /**
+     * This method returns the principal natural logarithm of this complex number,
+     * ln(|z|) + i arg(z), whose imaginary part lies between -Math.PI and Math.PI.
+     * The magnitude is computed without overflow, as by {@link #getMagnitude()}.
+     * An {@link ArithmeticException} is thrown if this number is the zero complex
+     * number.
+     * 
+     * @return the principal logarithm of this number.
+     */
+    public Complex log() {
+        Metrics.count(Operation.LOG);
+        ExceptionHandler.DIVISION_BY_ZERO.handle(realPart == 0 && imaginaryPart == 0, "Logarithm of zero");
+        return new Complex(Math.log(getMagnitude()), getArgument());
     }
 
     /**
@@ -385,6 +865,7 @@ public class Complex {
      * @return the product of this number and number.
      */
     public Complex multiply(Complex number) {
+        Metrics.count(Operation.MULTIPLY);
         return new Complex((realPart * number.realPart) - (imaginaryPart * number.imaginaryPart),
                            (realPart * number.imaginaryPart) + (imaginaryPart * number.realPart));
     }
@@ -398,6 +879,7 @@ public class Complex {
      * @return the product of this number and value.
      */
     public Complex multiply(double value) {
+        Metrics.count(Operation.MULTIPLY);
         return new Complex(realPart * value, imaginaryPart * value);
     }
 
@@ -406,90 +888,214 @@ public class Complex {
      * the integer order of the roots to find. The method returns a list of n
      * Complex objects, which are the nth roots of this number. If n is zero, then
      * an {@link ArithmeticException} is thrown. If this number is the zero complex
-     * number, then the method returns an empty list.
+     * number, then the method returns a list of n zeros. The roots are obtained by
+     * multiplying the first one by the cached nth roots of unity.
      * 
      * @param n the integer order of the roots to find.
      * @return a list of n Complex objects, which are the nth roots of this number.
      */
     public List<Complex> nthRoots(int n) {
+        long start = Metrics.start(Operation.NTH_ROOTS);
         ExceptionHandler.DIVISION_BY_ZERO.handle(n == 0, "Division by zero");
-        if (n > 0) {
-            List<Complex> roots = new ArrayList<>();
-            double modulus = Math.pow(this.getMagnitude(), 1.0 / n);
-            double argument = getArgument() / n;
-            for (int i = 0; i < n; i++) {
-                double real = modulus * Math.cos(argument + ((2.0 * i * Math.PI) / n));
-                double imaginary = modulus * Math.sin(argument + ((2.0 * i * Math.PI) / n));
-                roots.add(new Complex(real, imaginary));
-            }
-            return Collections.unmodifiableList(roots);
-        } else {
-            return inverse().nthRoots(Math.abs(n));
+        int order = Math.abs(n);
+        double[] real = new double[order];
+        double[] imaginary = new double[order];
+        roots(n, real, imaginary);
+        List<Complex> roots = new ArrayList<>(order);
+        for (int i = 0; i < order; i++) {
+            roots.add(new Complex(real[i], imaginary[i]));
         }
+        return Metrics.stop(Operation.NTH_ROOTS, start, Collections.unmodifiableList(roots));
+    }
+
+    /**
+     * This method writes the nth roots of this complex number into the given
+     * arrays, in the order of {@link #nthRoots(int)}. The parameter n is the
+     * integer order of the roots to find; a negative order gives the roots of the
+     * inverse of this number. The first |n| elements of the arrays are written.
+     * Only the first root is computed with trigonometric functions, the others are
+     * obtained by a single multiply with the cached |n|th roots of unity, and no
+     * object is allocated. The roots are kept exactly as computed, without
+     * rounding. If n is zero, or if n is negative and this number is the zero
+     * complex number, then an {@link ArithmeticException} is thrown.
+     * 
+     * @param n         the integer order of the roots to find.
+     * @param real      the array receiving the real parts of the roots.
+     * @param imaginary the array receiving the imaginary parts of the roots.
+     */
+    public void nthRoots(int n, double[] real, double[] imaginary) {
+        long start = Metrics.start(Operation.NTH_ROOTS);
+        roots(n, real, imaginary);
+        Metrics.stop(Operation.NTH_ROOTS, start, Math.abs(n));
     }
 
     /**
      * This method raises this complex number to a power. The parameter exponent is
      * the integer power to raise the number to. The method returns a new Complex
      * object that is this number raised to the power of exponent. If exponent is
-     * negative, then the method raises the inverse of this number to the absolute
-     * value of exponent. If exponent is zero, then the method returns the complex
-     * number 1 + 0i. If exponent is one, then the method returns this number. If
-     * exponent is two, then the method returns the product of this number and
-     * itself. Otherwise, the method recursively calls the power() method to
-     * calculate the result.
+     * negative, then the method returns the inverse of this number raised to the
+     * absolute value of exponent, and an {@link ArithmeticException} is thrown if
+     * this number is the zero complex number. If exponent is zero, then the method
+     * returns the complex number 1 + 0i. If exponent is one, then the method
+     * returns this number. Otherwise, the method squares and multiplies in a loop,
+     * in O(log exponent) steps; beyond {@value #POLAR_POWER_THRESHOLD} it uses the
+     * polar form r^n (cos(n theta) + i sin(n theta)) instead. The rounding policy
+     * is only applied to the result.
      * 
      * @param exponent the integer power to raise the number to.
      * @return a new Complex object that is this number raised to the power of
      *         exponent.
      */
     public Complex power(int exponent) {
-        if (exponent < 0) {
-            return this.inverse()
-                       .power(Math.abs(exponent));
-        } else if (exponent == 0) {
-            return ONE;
-        } else if (exponent == 1) {
-            return this;
-        } else if (exponent == 2) {
-            return this.multiply(this);
-        } else {
-            return this.multiply(this.power(exponent - 1));
+        long start = Metrics.start(Operation.POWER);
+        return Metrics.stop(Operation.POWER, start, integerPower(exponent));
+    }
+
+    /**
+     * This method raises this complex number to a real power. The parameter
+     * exponent is the real power to raise the number to. The method returns a new
+     * Complex object that is the principal value of this number raised to the
+     * power of exponent, r^x (cos(x theta) + i sin(x theta)) with theta in (-pi,
+     * pi]. Integer exponents are delegated to {@link #power(int)}. If this number
+     * is the zero complex number, then the method returns zero for a positive
+     * exponent and an {@link ArithmeticException} is thrown for a negative one.
+     * 
+     * @param exponent the real power to raise the number to.
+     * @return a new Complex object that is this number raised to the power of
+     *         exponent.
+     */
+    public Complex power(double exponent) {
+        if (exponent == (int) exponent) {
+            return power((int) exponent);
         }
+        long start = Metrics.start(Operation.POWER);
+        if (realPart == 0 && imaginaryPart == 0) {
+            ExceptionHandler.DIVISION_BY_ZERO.handle(exponent < 0, "Division by zero");
+            return Metrics.stop(Operation.POWER, start, ZERO);
+        }
+        double modulus = Math.pow(getMagnitude(), exponent);
+        double argument = getArgument() * exponent;
+        return Metrics.stop(Operation.POWER, start,
+                            new Complex(modulus * Math.cos(argument), modulus * Math.sin(argument)));
     }
 
     /**
-     * This method sets the imaginary part of this complex number. The parameter
-     * value is the new imaginary part. The method updates the imaginary part of
-     * this number to value.
+     * This method raises this complex number to a complex power. The parameter
+     * exponent is the complex power to raise the number to. The method returns a
+     * new Complex object that is the principal value of this number raised to the
+     * power of exponent, exp(exponent * log(this)). Real exponents are delegated to
+     * {@link #power(double)}. If this number is the zero complex number, then the
+     * method returns zero when the real part of exponent is positive and an
+     * {@link ArithmeticException} is thrown otherwise.
      * 
-     * @param value the new imaginary part.
+     * @param exponent the complex power to raise the number to.
+     * @return a new Complex object that is this number raised to the power of
+     *         exponent.
      */
-    public void setImaginaryPart(double value) {
-        this.imaginaryPart = Util.format(value);
+    public Complex power(Complex exponent) {
+        if (exponent.imaginaryPart == 0) {
+            return power(exponent.realPart);
+        }
+        long start = Metrics.start(Operation.POWER);
+        if (realPart == 0 && imaginaryPart == 0) {
+            ExceptionHandler.DIVISION_BY_ZERO.handle(exponent.realPart <= 0, "Division by zero");
+            return Metrics.stop(Operation.POWER, start, ZERO);
+        }
+        double logModulus = Math.log(getMagnitude());
+        double argument = getArgument();
+        double real = (exponent.realPart * logModulus) - (exponent.imaginaryPart * argument);
+        double imaginary = (exponent.imaginaryPart * logModulus) + (exponent.realPart * argument);
+        double modulus = Math.exp(real);
+        return Metrics.stop(Operation.POWER, start,
+                            new Complex(modulus * Math.cos(imaginary), modulus * Math.sin(imaginary)));
     }
 
     /**
-     * This method sets the real part of this complex number. The parameter value is
-     * the new real part. The method updates the real part of this number to value.
+     * This method returns the successive powers of this complex number, z, z^2,
+     * ..., z^n. Each power is obtained from the previous one by a single multiply,
+     * the way polynomial and DFT evaluation consume them.
      * 
-     * @param value the new real part.
+     * @param n the number of powers to compute.
+     * @return a list of n Complex objects, the powers 1 to n of this number.
+     */
+    public List<Complex> powers(int n) {
+        long start = Metrics.start(Operation.POWERS);
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
+        successivePowers(real, imaginary);
+        List<Complex> powers = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            powers.add(new Complex(real[i], imaginary[i]));
+        }
+        return Metrics.stop(Operation.POWERS, start, Collections.unmodifiableList(powers));
+    }
+
+    /**
+     * This method writes the successive powers of this complex number, z, z^2,
+     * ..., z^n, into the given arrays, n being their length. Each power is obtained
+     * from the previous one by a single multiply and no object is allocated. The
+     * powers are kept exactly as computed, without rounding.
+     * 
+     * @param real      the array receiving the real parts of the powers.
+     * @param imaginary the array receiving the imaginary parts of the powers, of the
+     *                  same length.
+     */
+    public void powers(double[] real, double[] imaginary) {
+        long start = Metrics.start(Operation.POWERS);
+        successivePowers(real, imaginary);
+        Metrics.stop(Operation.POWERS, start, real.length);
+    }
+
+    /**
+     * This method returns the sine of this complex number, sin(a) cosh(b) + i
+     * cos(a) sinh(b) for a + bi.
+     * 
+     * @return the sine of this number.
+     */
+    public Complex sin() {
+        Metrics.count(Operation.SIN);
+        return new Complex(Math.sin(realPart) * Math.cosh(imaginaryPart), Math.cos(realPart) * Math.sinh(imaginaryPart));
+    }
+
+    /**
+     * This method returns the hyperbolic sine of this complex number, sinh(a)
+     * cos(b) + i cosh(a) sin(b) for a + bi.
+     * 
+     * @return the hyperbolic sine of this number.
      */
-    public void setRealPart(double value) {
-        this.realPart = Util.format(value);
+    public Complex sinh() {
+        Metrics.count(Operation.SINH);
+        return new Complex(Math.sinh(realPart) * Math.cos(imaginaryPart), Math.cosh(realPart) * Math.sin(imaginaryPart));
+    }
+
+    /**
+     * This method returns the principal square root of this complex number, the
+     * one with a nonnegative real part, or with a nonnegative imaginary part when
+     * the real part is zero, the first element of {@link #squareRoot()}. It is
+     * computed in closed form, without trigonometric functions and without
+     * building a list.
+     * 
+     * @return the principal square root of this number.
+     */
+    public Complex sqrt() {
+        Metrics.count(Operation.SQRT);
+        return principalSquareRoot();
     }
 
     /**
      * This method returns the square roots of this complex number. The method
      * returns a list of two Complex objects, which are the two square roots of this
-     * number. If this number is the zero complex number, then the method returns an
-     * empty list.
+     * number, the principal one first. They are computed in closed form, without
+     * trigonometric functions. If this number is the zero complex number, then the
+     * method returns a list of two zeros.
      * 
      * @return a list of two Complex objects, which are the two square roots of this
      *         number.
      */
     public List<Complex> squareRoot() {
-        return nthRoots(2);
+        Metrics.count(Operation.SQUARE_ROOT);
+        Complex root = principalSquareRoot();
+        return root == ZERO ? List.of(ZERO, ZERO) : List.of(root, new Complex(-root.realPart, -root.imaginaryPart));
     }
 
     /**
@@ -501,6 +1107,7 @@ public class Complex {
      * @return the difference of this number and number.
      */
     public Complex subtract(Complex number) {
+        Metrics.count(Operation.SUBTRACT);
         return new Complex(realPart - number.realPart, imaginaryPart - number.imaginaryPart);
     }
 
@@ -513,21 +1120,151 @@ public class Complex {
      * @return the difference of this number and value.
      */
     public Complex subtract(double value) {
+        Metrics.count(Operation.SUBTRACT);
         return new Complex(realPart - value, imaginaryPart);
     }
 
+    /**
+     * This method returns the tangent of this complex number, (sin(2a) + i
+     * sinh(2b)) / (cos(2a) + cosh(2b)) for a + bi. Far from the real axis, where
+     * cosh(2b) overflows, the tangent is computed from its limit instead, so that
+     * it tends to i or -i rather than becoming NaN.
+     * 
+     * @return the tangent of this number.
+     */
+    public Complex tan() {
+        Metrics.count(Operation.TAN);
+        return tangent(realPart, imaginaryPart, false);
+    }
+
+    /**
+     * This method returns the hyperbolic tangent of this complex number, (sinh(2a)
+     * + i sin(2b)) / (cosh(2a) + cos(2b)) for a + bi. Far from the imaginary axis,
+     * where cosh(2a) overflows, the hyperbolic tangent is computed from its limit
+     * instead, so that it tends to 1 or -1 rather than becoming NaN.
+     * 
+     * @return the hyperbolic tangent of this number.
+     */
+    public Complex tanh() {
+        Metrics.count(Operation.TANH);
+        return tangent(imaginaryPart, realPart, true);
+    }
+
+    /**
+     * This method returns the external form of this complex number, such as
+     * "1.0+2.0i", "-i" or "0". {@link #parse(CharSequence)} reads it back.
+     * 
+     * @return the external form of this number.
+     */
     @Override
     public String toString() {
-        if (this.equals(ZERO)) {
-            return "0";
+        return ComplexFormat.format(this, new StringBuilder(32))
+                            .toString();
+    }
+
+    /**
+     * This method returns a copy of this complex number with another imaginary
+     * part. The parameter value is the new imaginary part. The method returns a new
+     * Complex object, this number is left unchanged.
+     * 
+     * @param value the new imaginary part.
+     * @return a new Complex object with the real part of this number and value as
+     *         imaginary part.
+     */
+    public Complex withImaginaryPart(double value) {
+        return new Complex(realPart, value);
+    }
+
+    /**
+     * This method returns a copy of this complex number with another real part.
+     * The parameter value is the new real part. The method returns a new Complex
+     * object, this number is left unchanged.
+     * 
+     * @param value the new real part.
+     * @return a new Complex object with value as real part and the imaginary part
+     *         of this number.
+     */
+    public Complex withRealPart(double value) {
+        return new Complex(value, imaginaryPart);
+    }
+
+    private Complex integerPower(int exponent) {
+        if (exponent == 0) {
+            return ONE;
+        } else if (exponent == 1) {
+            return this;
+        }
+        ExceptionHandler.DIVISION_BY_ZERO.handle(exponent < 0 && realPart == 0 && imaginaryPart == 0, "Division by zero");
+        long remaining = Math.abs((long) exponent);
+        if (remaining > POLAR_POWER_THRESHOLD) {
+            double modulus = Math.pow(getMagnitude(), exponent);
+            double argument = getArgument() * exponent;
+            return new Complex(modulus * Math.cos(argument), modulus * Math.sin(argument));
+        }
+        double real = 1;
+        double imaginary = 0;
+        double baseReal = realPart;
+        double baseImaginary = imaginaryPart;
+        while (true) {
+            if ((remaining & 1) != 0) {
+                double product = (real * baseReal) - (imaginary * baseImaginary);
+                imaginary = (real * baseImaginary) + (imaginary * baseReal);
+                real = product;
+            }
+            remaining >>>= 1;
+            if (remaining == 0) {
+                break;
+            }
+            double square = (baseReal * baseReal) - (baseImaginary * baseImaginary);
+            baseImaginary = 2 * baseReal * baseImaginary;
+            baseReal = square;
+        }
+        return exponent < 0 ? reciprocal(real, imaginary) : new Complex(real, imaginary);
+    }
+
+    private Complex principalSquareRoot() {
+        double magnitude = getMagnitude();
+        if (magnitude == 0) {
+            return ZERO;
+        }
+        double t = Math.sqrt((Math.abs(realPart) + magnitude) / 2);
+        if (realPart >= 0) {
+            return new Complex(t, imaginaryPart / (2 * t));
+        }
+        return new Complex(Math.abs(imaginaryPart) / (2 * t), Math.copySign(t, imaginaryPart + 0.0));
+    }
+
+    private void roots(int n, double[] real, double[] imaginary) {
+        ExceptionHandler.DIVISION_BY_ZERO.handle(n == 0 || (n < 0 && realPart == 0 && imaginaryPart == 0), "Division by zero");
+        int order = Math.abs(n);
+        if (real.length < order || imaginary.length < order) {
+            throw new IllegalArgumentException("Buffers too small for " + order + " roots");
+        }
+        double modulus = Math.pow(getMagnitude(), 1.0 / n);
+        double argument = getArgument() / n;
+        double baseReal = modulus * Math.cos(argument);
+        double baseImaginary = modulus * Math.sin(argument);
+        RootsOfUnity unity = RootsOfUnity.of(order);
+        double[] cos = unity.cos, sin = unity.sin;
+        for (int i = 0; i < order; i++) {
+            real[i] = (baseReal * cos[i]) - (baseImaginary * sin[i]);
+            imaginary[i] = (baseReal * sin[i]) + (baseImaginary * cos[i]);
+        }
+    }
+
+    private void successivePowers(double[] real, double[] imaginary) {
+        if (real.length != imaginary.length) {
+            throw new IllegalArgumentException("Length mismatch: " + imaginary.length + " instead of " + real.length);
         }
-        String externalForm = realPart == 0 ? "" : realPart + "";
-        if (imaginaryPart > 0) {
-            externalForm += imaginaryPart == 1 ? "+i" : "+" + imaginaryPart + "i";
-        } else if (imaginaryPart < 0) {
-            externalForm += imaginaryPart == -1 ? "-i" : imaginaryPart + "i";
+        double currentReal = realPart;
+        double currentImaginary = imaginaryPart;
+        for (int i = 0; i < real.length; i++) {
+            real[i] = currentReal;
+            imaginary[i] = currentImaginary;
+            double product = (currentReal * realPart) - (currentImaginary * imaginaryPart);
+            currentImaginary = (currentReal * imaginaryPart) + (currentImaginary * realPart);
+            currentReal = product;
         }
-        return realPart != 0 ? externalForm : externalForm.contains("+") ? externalForm.replace("+", "") : externalForm;
     }
 
 }
@@ -0,0 +1,284 @@
+package edev.complex;
+
+/**
+ * This class represents a mutable complex number, used to build a result in
+ * place over many steps (sums, polynomial evaluation, dot products) without
+ * allocating a {@link Complex} at each step. The parts are kept exactly as
+ * computed: the rounding policy of {@link Complex} is only applied when
+ * {@link #toComplex()} is called.<br/>
+ * An accumulator is not thread-safe; it is meant to be confined to the thread
+ * running the loop.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexAccumulator {
+
+    private double imaginaryPart;
+
+    private double realPart;
+
+    /**
+     * This constructor creates an accumulator holding the complex number zero.
+     */
+    public ComplexAccumulator() {
+    }
+
+    /**
+     * This constructor creates an accumulator holding the given complex number.
+     * 
+     * @param number the initial value.
+     */
+    public ComplexAccumulator(Complex number) {
+        this(number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This constructor creates an accumulator holding the complex number real +
+     * imaginary i.
+     * 
+     * @param real      the initial real part.
+     * @param imaginary the initial imaginary part.
+     */
+    public ComplexAccumulator(double real, double imaginary) {
+        this.realPart = real;
+        this.imaginaryPart = imaginary;
+    }
+
+    /**
+     * This method adds a complex number to this accumulator.
+     * 
+     * @param number the complex number to be added.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator addInPlace(Complex number) {
+        return addInPlace(number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This method adds a real number to this accumulator.
+     * 
+     * @param value the real number to be added.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator addInPlace(double value) {
+        realPart += value;
+        return this;
+    }
+
+    /**
+     * This method adds the complex number real + imaginary i to this accumulator.
+     * 
+     * @param real      the real part to be added.
+     * @param imaginary the imaginary part to be added.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator addInPlace(double real, double imaginary) {
+        realPart += real;
+        imaginaryPart += imaginary;
+        return this;
+    }
+
+    /**
+     * This method divides this accumulator by a complex number. An
+     * {@link ArithmeticException} is thrown if number is equal to the zero complex
+     * number.
+     * 
+     * @param number the complex number to divide by.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator divideInPlace(Complex number) {
+        return divideInPlace(number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This method divides this accumulator by a real number. An
+     * {@link ArithmeticException} is thrown if value is zero.
+     * 
+     * @param value the real number to divide by.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator divideInPlace(double value) {
+        return divideInPlace(value, 0);
+    }
+
+    /**
+     * This method divides this accumulator by the complex number real + imaginary
+     * i. An {@link ArithmeticException} is thrown if both parts are zero.
+     * 
+     * @param real      the real part of the divisor.
+     * @param imaginary the imaginary part of the divisor.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator divideInPlace(double real, double imaginary) {
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(real == 0 && imaginary == 0, "Division by zero");
+        if (Math.abs(real) >= Math.abs(imaginary)) {
+            double ratio = imaginary / real;
+            double divisor = real + (imaginary * ratio);
+            double newReal = (realPart + (imaginaryPart * ratio)) / divisor;
+            imaginaryPart = (imaginaryPart - (realPart * ratio)) / divisor;
+            realPart = newReal;
+        } else {
+            double ratio = real / imaginary;
+            double divisor = (real * ratio) + imaginary;
+            double newReal = ((realPart * ratio) + imaginaryPart) / divisor;
+            imaginaryPart = ((imaginaryPart * ratio) - realPart) / divisor;
+            realPart = newReal;
+        }
+        return this;
+    }
+
+    /**
+     * This method adds the product of two complex numbers to this accumulator, the
+     * fused multiply-add step of dot products.
+     * 
+     * @param number1 the complex number to be multiplied.
+     * @param number2 the complex number to be multiplied.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator fma(Complex number1, Complex number2) {
+        double a = number1.getRealPart();
+        double b = number1.getImaginaryPart();
+        double c = number2.getRealPart();
+        double d = number2.getImaginaryPart();
+        realPart += (a * c) - (b * d);
+        imaginaryPart += (a * d) + (b * c);
+        return this;
+    }
+
+    /**
+     * This method returns the imaginary part of this accumulator.
+     * 
+     * @return the imaginary part.
+     */
+    public double getImaginaryPart() {
+        return imaginaryPart;
+    }
+
+    /**
+     * This method returns the real part of this accumulator.
+     * 
+     * @return the real part.
+     */
+    public double getRealPart() {
+        return realPart;
+    }
+
+    /**
+     * This method multiplies this accumulator by a complex number and then adds
+     * another one, the step of Horner's polynomial evaluation.
+     * 
+     * @param factor the complex number to multiply by.
+     * @param addend the complex number to be added.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator multiplyAddInPlace(Complex factor, Complex addend) {
+        return multiplyInPlace(factor).addInPlace(addend);
+    }
+
+    /**
+     * This method multiplies this accumulator by a complex number.
+     * 
+     * @param number the complex number to multiply by.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator multiplyInPlace(Complex number) {
+        return multiplyInPlace(number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This method multiplies this accumulator by a real number.
+     * 
+     * @param value the real number to multiply by.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator multiplyInPlace(double value) {
+        realPart *= value;
+        imaginaryPart *= value;
+        return this;
+    }
+
+    /**
+     * This method multiplies this accumulator by the complex number real +
+     * imaginary i.
+     * 
+     * @param real      the real part to multiply by.
+     * @param imaginary the imaginary part to multiply by.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator multiplyInPlace(double real, double imaginary) {
+        double newReal = (realPart * real) - (imaginaryPart * imaginary);
+        imaginaryPart = (realPart * imaginary) + (imaginaryPart * real);
+        realPart = newReal;
+        return this;
+    }
+
+    /**
+     * This method resets this accumulator to the complex number zero.
+     * 
+     * @return this accumulator.
+     */
+    public ComplexAccumulator reset() {
+        return set(0, 0);
+    }
+
+    /**
+     * This method replaces the value of this accumulator by a complex number.
+     * 
+     * @param number the new value.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator set(Complex number) {
+        return set(number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This method replaces the value of this accumulator by the complex number
+     * real + imaginary i.
+     * 
+     * @param real      the new real part.
+     * @param imaginary the new imaginary part.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator set(double real, double imaginary) {
+        realPart = real;
+        imaginaryPart = imaginary;
+        return this;
+    }
+
+    /**
+     * This method subtracts a complex number from this accumulator.
+     * 
+     * @param number the complex number to be subtracted.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator subtractInPlace(Complex number) {
+        return addInPlace(-number.getRealPart(), -number.getImaginaryPart());
+    }
+
+    /**
+     * This method subtracts a real number from this accumulator.
+     * 
+     * @param value the real number to be subtracted.
+     * @return this accumulator.
+     */
+    public ComplexAccumulator subtractInPlace(double value) {
+        realPart -= value;
+        return this;
+    }
+
+    /**
+     * This method returns the value of this accumulator as a complex number, with
+     * the current rounding policy applied.
+     * 
+     * @return a new Complex object holding the value of this accumulator.
+     */
+    public Complex toComplex() {
+        return new Complex(realPart, imaginaryPart);
+    }
+
+    @Override
+    public String toString() {
+        return toComplex().toString();
+    }
+
+}
@@ -0,0 +1,931 @@
+package edev.complex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents a fixed-length array of complex numbers stored as two
+ * primitive arrays, one for the real parts and one for the imaginary parts.
+ * Compared to a {@code List<Complex>} it saves the object header and the
+ * pointer chase of every element, and its bulk operations are plain indexed
+ * loops over the primitive arrays, the shape HotSpot's superword optimization
+ * compiles to SIMD instructions.<br/>
+ * The bulk operations mirror the element-wise methods of {@link Complex}. They
+ * keep the parts exactly as computed: the rounding policy of {@link Complex} is
+ * only applied when an element is read back with {@link #get(int)}.<br/>
+ * A complex array is not thread-safe; concurrent readers are fine as long as no
+ * thread writes to it.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexArray {
+
+    private static void checkLength(ComplexArray array, int length) {
+        if (array.length() != length) {
+            throw new IllegalArgumentException("Length mismatch: " + array.length() + " instead of " + length);
+        }
+    }
+
+    private static void checkLength(double[] array, int length) {
+        if (array.length != length) {
+            throw new IllegalArgumentException("Length mismatch: " + array.length + " instead of " + length);
+        }
+    }
+
+    /**
+     * This static method adds two complex arrays element by element into a third
+     * one. The result array may be one of the operands.
+     * 
+     * @param array1 the complex array.
+     * @param array2 the complex array to be added.
+     * @param result the complex array receiving the sums.
+     * @return the result array.
+     */
+    public static ComplexArray add(ComplexArray array1, ComplexArray array2, ComplexArray result) {
+        int n = array1.length();
+        checkLength(array2, n);
+        checkLength(result, n);
+        double[] ar = array1.real, ai = array1.imaginary;
+        double[] br = array2.real, bi = array2.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            rr[i] = ar[i] + br[i];
+        }
+        for (int i = 0; i < n; i++) {
+            ri[i] = ai[i] + bi[i];
+        }
+        return result;
+    }
+
+    /**
+     * This static method adds a complex number to every element of a complex array
+     * into another one. The result array may be the operand.
+     * 
+     * @param array  the complex array.
+     * @param number the complex number to be added.
+     * @param result the complex array receiving the sums.
+     * @return the result array.
+     */
+    public static ComplexArray add(ComplexArray array, Complex number, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        double br = number.getRealPart(), bi = number.getImaginaryPart();
+        for (int i = 0; i < n; i++) {
+            rr[i] = ar[i] + br;
+        }
+        for (int i = 0; i < n; i++) {
+            ri[i] = ai[i] + bi;
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the cosine of every element of a complex array
+     * into another one, as {@link Complex#cos()}. The result array may be the
+     * operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray cos(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double a = ar[i], b = ai[i];
+            rr[i] = Math.cos(a) * Math.cosh(b);
+            ri[i] = -Math.sin(a) * Math.sinh(b);
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the hyperbolic cosine of every element of a
+     * complex array into another one, as {@link Complex#cosh()}. The result array
+     * may be the operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray cosh(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double a = ar[i], b = ai[i];
+            rr[i] = Math.cosh(a) * Math.cos(b);
+            ri[i] = Math.sinh(a) * Math.sin(b);
+        }
+        return result;
+    }
+
+    /**
+     * This static method divides two complex arrays element by element into a
+     * third one, with Smith's algorithm as in {@link Complex#divide(Complex)}. The
+     * result array may be one of the operands. An {@link ArithmeticException} is
+     * thrown, before any element is written, if an element of array2 is equal to
+     * the zero complex number.
+     * 
+     * @param array1 the dividends.
+     * @param array2 the divisors.
+     * @param result the complex array receiving the quotients.
+     * @return the result array.
+     */
+    public static ComplexArray divide(ComplexArray array1, ComplexArray array2, ComplexArray result) {
+        int n = array1.length();
+        checkLength(array2, n);
+        checkLength(result, n);
+        double[] ar = array1.real, ai = array1.imaginary;
+        double[] br = array2.real, bi = array2.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        boolean zero = false;
+        for (int i = 0; i < n; i++) {
+            zero |= br[i] == 0 & bi[i] == 0;
+        }
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(zero, "Division by zero");
+        for (int i = 0; i < n; i++) {
+            double a = ar[i];
+            double b = ai[i];
+            double c = br[i];
+            double d = bi[i];
+            boolean wide = Math.abs(c) >= Math.abs(d);
+            double ratio = wide ? d / c : c / d;
+            double divisor = wide ? c + (d * ratio) : (c * ratio) + d;
+            double real = wide ? a + (b * ratio) : (a * ratio) + b;
+            double imaginary = wide ? b - (a * ratio) : (b * ratio) - a;
+            rr[i] = real / divisor;
+            ri[i] = imaginary / divisor;
+        }
+        return result;
+    }
+
+    /**
+     * This static method divides every element of a complex array by a complex
+     * number into another one, with Smith's algorithm as in
+     * {@link Complex#divide(Complex)}. The ratio and divisor of the algorithm
+     * depend only on number, so they are computed once. The result array may be
+     * the operand. An {@link ArithmeticException} is thrown if number is equal to
+     * the zero complex number.
+     * 
+     * @param array  the dividends.
+     * @param number the divisor.
+     * @param result the complex array receiving the quotients.
+     * @return the result array.
+     */
+    public static ComplexArray divide(ComplexArray array, Complex number, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double c = number.getRealPart();
+        double d = number.getImaginaryPart();
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(c == 0 && d == 0, "Division by zero");
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        boolean wide = Math.abs(c) >= Math.abs(d);
+        double ratio = wide ? d / c : c / d;
+        double divisor = wide ? c + (d * ratio) : (c * ratio) + d;
+        for (int i = 0; i < n; i++) {
+            double a = ar[i];
+            double b = ai[i];
+            double real = wide ? a + (b * ratio) : (a * ratio) + b;
+            double imaginary = wide ? b - (a * ratio) : (b * ratio) - a;
+            rr[i] = real / divisor;
+            ri[i] = imaginary / divisor;
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the exponential of every element of a complex
+     * array into another one, as {@link Complex#exp()}. Each element takes one
+     * exponential, one sine and one cosine. The result array may be the operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray exp(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double modulus = Math.exp(ar[i]), angle = ai[i];
+            rr[i] = modulus * Math.cos(angle);
+            ri[i] = modulus * Math.sin(angle);
+        }
+        return result;
+    }
+
+    /**
+     * This static method converts magnitudes and arguments into complex numbers,
+     * magnitude[k] * (cos(argument[k]) + sin(argument[k]) i), into a complex
+     * array. It is the inverse of {@link #toPolar(double[], double[])}.
+     * 
+     * @param magnitude the magnitudes.
+     * @param argument  the arguments (angles) in radians, of the same length.
+     * @param result    the complex array receiving the numbers.
+     * @return the result array.
+     */
+    public static ComplexArray fromPolar(double[] magnitude, double[] argument, ComplexArray result) {
+        int n = magnitude.length;
+        checkLength(argument, n);
+        checkLength(result, n);
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double angle = argument[i];
+            rr[i] = magnitude[i] * Math.cos(angle);
+            ri[i] = magnitude[i] * Math.sin(angle);
+        }
+        return result;
+    }
+
+    /**
+     * This static method conjugates every element of a complex array into another
+     * one. The result array may be the operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the conjugates.
+     * @return the result array.
+     */
+    public static ComplexArray getConjugate(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ai = array.imaginary;
+        double[] ri = result.imaginary;
+        if (array != result) {
+            System.arraycopy(array.real, 0, result.real, 0, n);
+        }
+        for (int i = 0; i < n; i++) {
+            ri[i] = -ai[i];
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the principal natural logarithm of every element
+     * of a complex array into another one, as {@link Complex#log()}. An
+     * {@link ArithmeticException} is thrown if an element is zero. The result array
+     * may be the operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray log(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double a = ar[i], b = ai[i];
+            Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(a == 0 && b == 0, "Logarithm of zero");
+            rr[i] = Math.log(Complex.magnitude(a, b));
+            ri[i] = Math.atan2(b + 0.0, a + 0.0);
+        }
+        return result;
+    }
+
+    /**
+     * This static method multiplies two complex arrays element by element into a
+     * third one. The result array may be one of the operands.
+     * 
+     * @param array1 the complex array to be multiplied.
+     * @param array2 the complex array to be multiplied.
+     * @param result the complex array receiving the products.
+     * @return the result array.
+     */
+    public static ComplexArray multiply(ComplexArray array1, ComplexArray array2, ComplexArray result) {
+        int n = array1.length();
+        checkLength(array2, n);
+        checkLength(result, n);
+        double[] ar = array1.real, ai = array1.imaginary;
+        double[] br = array2.real, bi = array2.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double a = ar[i];
+            double b = ai[i];
+            double c = br[i];
+            double d = bi[i];
+            rr[i] = (a * c) - (b * d);
+            ri[i] = (a * d) + (b * c);
+        }
+        return result;
+    }
+
+    /**
+     * This static method multiplies every element of a complex array by a complex
+     * number into another one. The result array may be the operand.
+     * 
+     * @param array  the complex array to be multiplied.
+     * @param number the complex number to multiply by.
+     * @param result the complex array receiving the products.
+     * @return the result array.
+     */
+    public static ComplexArray multiply(ComplexArray array, Complex number, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        double c = number.getRealPart(), d = number.getImaginaryPart();
+        for (int i = 0; i < n; i++) {
+            double a = ar[i];
+            double b = ai[i];
+            rr[i] = (a * c) - (b * d);
+            ri[i] = (a * d) + (b * c);
+        }
+        return result;
+    }
+
+    /**
+     * This static method multiplies every element of a complex array by a real
+     * number into another one. The result array may be the operand.
+     * 
+     * @param array  the complex array to be multiplied.
+     * @param value  the real number to multiply by.
+     * @param result the complex array receiving the products.
+     * @return the result array.
+     */
+    public static ComplexArray multiply(ComplexArray array, double value, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            rr[i] = ar[i] * value;
+        }
+        for (int i = 0; i < n; i++) {
+            ri[i] = ai[i] * value;
+        }
+        return result;
+    }
+
+    /**
+     * This static method creates a complex array holding the given complex numbers.
+     * 
+     * @param numbers the complex numbers.
+     * @return a new complex array holding the numbers.
+     */
+    public static ComplexArray of(Complex... numbers) {
+        ComplexArray array = new ComplexArray(numbers.length);
+        for (int i = 0; i < numbers.length; i++) {
+            array.set(i, numbers[i]);
+        }
+        return array;
+    }
+
+    /**
+     * This static method creates a complex array holding the complex numbers of a
+     * list, in order.
+     * 
+     * @param numbers the complex numbers.
+     * @return a new complex array holding the numbers.
+     */
+    public static ComplexArray of(List<Complex> numbers) {
+        return of(numbers.toArray(new Complex[0]));
+    }
+
+    /**
+     * This static method writes the inverses of the elements of a complex array
+     * into another one, with Smith's algorithm as in {@link Complex#inverse()}.
+     * The result array may be the operand. An {@link ArithmeticException} is
+     * thrown, before any element is written, if an element of array is equal to
+     * the zero complex number.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the inverses.
+     * @return the result array.
+     */
+    public static ComplexArray reciprocal(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        boolean zero = false;
+        for (int i = 0; i < n; i++) {
+            zero |= ar[i] == 0 & ai[i] == 0;
+        }
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(zero, "Division by zero");
+        for (int i = 0; i < n; i++) {
+            double c = ar[i];
+            double d = ai[i];
+            boolean wide = Math.abs(c) >= Math.abs(d);
+            double ratio = wide ? d / c : c / d;
+            double divisor = wide ? c + (d * ratio) : (c * ratio) + d;
+            rr[i] = (wide ? 1 : ratio) / divisor;
+            ri[i] = (wide ? -ratio : -1) / divisor;
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the sine of every element of a complex array into
+     * another one, as {@link Complex#sin()}. The result array may be the operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray sin(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double a = ar[i], b = ai[i];
+            rr[i] = Math.sin(a) * Math.cosh(b);
+            ri[i] = Math.cos(a) * Math.sinh(b);
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the hyperbolic sine of every element of a complex
+     * array into another one, as {@link Complex#sinh()}. The result array may be the
+     * operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray sinh(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double a = ar[i], b = ai[i];
+            rr[i] = Math.sinh(a) * Math.cos(b);
+            ri[i] = Math.cosh(a) * Math.sin(b);
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the principal square root of every element of a
+     * complex array into another one, as {@link Complex#sqrt()}. The result array
+     * may be the operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray sqrt(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double a = ar[i], b = ai[i];
+            double t = Math.sqrt((Math.abs(a) + Complex.magnitude(a, b)) / 2);
+            if (t == 0) {
+                rr[i] = 0;
+                ri[i] = 0;
+            } else if (a >= 0) {
+                rr[i] = t;
+                ri[i] = b / (2 * t);
+            } else {
+                rr[i] = Math.abs(b) / (2 * t);
+                ri[i] = Math.copySign(t, b + 0.0);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This static method subtracts two complex arrays element by element into a
+     * third one. The result array may be one of the operands.
+     * 
+     * @param array1 the complex array.
+     * @param array2 the complex array to be subtracted.
+     * @param result the complex array receiving the differences.
+     * @return the result array.
+     */
+    public static ComplexArray subtract(ComplexArray array1, ComplexArray array2, ComplexArray result) {
+        int n = array1.length();
+        checkLength(array2, n);
+        checkLength(result, n);
+        double[] ar = array1.real, ai = array1.imaginary;
+        double[] br = array2.real, bi = array2.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            rr[i] = ar[i] - br[i];
+        }
+        for (int i = 0; i < n; i++) {
+            ri[i] = ai[i] - bi[i];
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the tangent of every element of a complex array
+     * into another one, as {@link Complex#tan()}. The result array may be the
+     * operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray tan(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double x = 2 * ar[i], y = 2 * ai[i];
+            if (Math.abs(y) > 40) {
+                rr[i] = 2 * Math.sin(x) * Math.exp(-Math.abs(y));
+                ri[i] = Math.copySign(1, y);
+            } else {
+                double divisor = Math.cos(x) + Math.cosh(y);
+                rr[i] = Math.sin(x) / divisor;
+                ri[i] = Math.sinh(y) / divisor;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This static method computes the hyperbolic tangent of every element of a
+     * complex array into another one, as {@link Complex#tanh()}. The result array
+     * may be the operand.
+     * 
+     * @param array  the complex array.
+     * @param result the complex array receiving the results.
+     * @return the result array.
+     */
+    public static ComplexArray tanh(ComplexArray array, ComplexArray result) {
+        int n = array.length();
+        checkLength(result, n);
+        double[] ar = array.real, ai = array.imaginary;
+        double[] rr = result.real, ri = result.imaginary;
+        for (int i = 0; i < n; i++) {
+            double x = 2 * ar[i], y = 2 * ai[i];
+            if (Math.abs(x) > 40) {
+                rr[i] = Math.copySign(1, x);
+                ri[i] = 2 * Math.sin(y) * Math.exp(-Math.abs(x));
+            } else {
+                double divisor = Math.cosh(x) + Math.cos(y);
+                rr[i] = Math.sinh(x) / divisor;
+                ri[i] = Math.sin(y) / divisor;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This static method creates a complex array backed by the given primitive
+     * arrays, without copying them. Writes through the complex array are visible
+     * in the primitive arrays and the other way round.
+     * 
+     * @param real      the real parts.
+     * @param imaginary the imaginary parts, of the same length.
+     * @return a new complex array backed by real and imaginary.
+     */
+    public static ComplexArray wrap(double[] real, double[] imaginary) {
+        checkLength(imaginary, real.length);
+        return new ComplexArray(real, imaginary);
+    }
+
+    private final double[] imaginary;
+
+    private final double[] real;
+
+    /**
+     * This constructor creates a complex array of the given length, holding zeros.
+     * 
+     * @param length the number of elements.
+     */
+    public ComplexArray(int length) {
+        this(new double[length], new double[length]);
+    }
+
+    private ComplexArray(double[] real, double[] imaginary) {
+        this.real = real;
+        this.imaginary = imaginary;
+    }
+
+    /**
+     * This method adds this complex array to another one element by element. The
+     * method returns a new complex array holding the sums.
+     * 
+     * @param array the complex array to be added.
+     * @return a new complex array holding the sums.
+     */
+    public ComplexArray add(ComplexArray array) {
+        return add(this, array, new ComplexArray(length()));
+    }
+
+    /**
+     * This method adds a complex number to every element of this complex array.
+     * The method returns a new complex array holding the sums.
+     * 
+     * @param number the complex number to be added.
+     * @return a new complex array holding the sums.
+     */
+    public ComplexArray add(Complex number) {
+        return add(this, number, new ComplexArray(length()));
+    }
+
+    /**
+     * This method returns a copy of this complex array.
+     * 
+     * @return a new complex array holding the same elements.
+     */
+    public ComplexArray copy() {
+        return new ComplexArray(real.clone(), imaginary.clone());
+    }
+
+    /**
+     * This method divides this complex array by another one element by element.
+     * The method returns a new complex array holding the quotients. An
+     * {@link ArithmeticException} is thrown if an element of array is equal to the
+     * zero complex number.
+     * 
+     * @param array the divisors.
+     * @return a new complex array holding the quotients.
+     */
+    public ComplexArray divide(ComplexArray array) {
+        return divide(this, array, new ComplexArray(length()));
+    }
+
+    /**
+     * This method divides every element of this complex array by a complex number.
+     * The method returns a new complex array holding the quotients. An
+     * {@link ArithmeticException} is thrown if number is equal to the zero complex
+     * number.
+     * 
+     * @param number the complex number to divide by.
+     * @return a new complex array holding the quotients.
+     */
+    public ComplexArray divide(Complex number) {
+        return divide(this, number, new ComplexArray(length()));
+    }
+
+    /**
+     * This method returns the element at the given index as a complex number, with
+     * the current rounding policy applied.
+     * 
+     * @param index the index of the element.
+     * @return a new Complex object holding the element.
+     */
+    public Complex get(int index) {
+        return new Complex(real[index], imaginary[index]);
+    }
+
+    /**
+     * This method writes approximations of the arguments (angles) of the elements
+     * of this complex array, in radians, into the given array. Each one is within
+     * 1.2e-5 of the exact argument, as for {@link Complex#getApproximateArgument()}.
+     * 
+     * @param result the array receiving the arguments.
+     * @return the result array.
+     */
+    public double[] getApproximateArgument(double[] result) {
+        int n = length();
+        checkLength(result, n);
+        double[] ar = real, ai = imaginary;
+        for (int i = 0; i < n; i++) {
+            result[i] = Complex.approximateArgument(ar[i], ai[i]);
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the arguments (angles) of the elements of this complex
+     * array, in radians. The argument of the zero complex number is 0.
+     * 
+     * @return a new array holding the arguments.
+     */
+    public double[] getArgument() {
+        return getArgument(new double[length()]);
+    }
+
+    /**
+     * This method writes the arguments (angles) of the elements of this complex
+     * array, in radians, into the given array. The argument of the zero complex
+     * number is 0.
+     * 
+     * @param result the array receiving the arguments.
+     * @return the result array.
+     */
+    public double[] getArgument(double[] result) {
+        int n = length();
+        checkLength(result, n);
+        double[] ar = real, ai = imaginary;
+        for (int i = 0; i < n; i++) {
+            result[i] = Math.atan2(ai[i] + 0.0, ar[i] + 0.0);
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the conjugates of the elements of this complex array.
+     * 
+     * @return a new complex array holding the conjugates.
+     */
+    public ComplexArray getConjugate() {
+        return getConjugate(this, new ComplexArray(length()));
+    }
+
+    /**
+     * This method returns the imaginary part of the element at the given index.
+     * 
+     * @param index the index of the element.
+     * @return the imaginary part.
+     */
+    public double getImaginaryPart(int index) {
+        return imaginary[index];
+    }
+
+    /**
+     * This method returns the imaginary parts of this complex array. The returned
+     * array is the backing array, not a copy.
+     * 
+     * @return the imaginary parts.
+     */
+    public double[] getImaginaryParts() {
+        return imaginary;
+    }
+
+    /**
+     * This method returns the magnitudes (absolute values) of the elements of this
+     * complex array.
+     * 
+     * @return a new array holding the magnitudes.
+     */
+    public double[] getMagnitude() {
+        return getMagnitude(new double[length()]);
+    }
+
+    /**
+     * This method writes the magnitudes (absolute values) of the elements of this
+     * complex array into the given array, without overflow or underflow, as
+     * {@link Complex#getMagnitude()}.
+     * 
+     * @param result the array receiving the magnitudes.
+     * @return the result array.
+     */
+    public double[] getMagnitude(double[] result) {
+        int n = length();
+        checkLength(result, n);
+        double[] ar = real, ai = imaginary;
+        for (int i = 0; i < n; i++) {
+            result[i] = Complex.magnitude(ar[i], ai[i]);
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the real part of the element at the given index.
+     * 
+     * @param index the index of the element.
+     * @return the real part.
+     */
+    public double getRealPart(int index) {
+        return real[index];
+    }
+
+    /**
+     * This method returns the real parts of this complex array. The returned array
+     * is the backing array, not a copy.
+     * 
+     * @return the real parts.
+     */
+    public double[] getRealParts() {
+        return real;
+    }
+
+    /**
+     * This method returns the number of elements of this complex array.
+     * 
+     * @return the number of elements.
+     */
+    public int length() {
+        return real.length;
+    }
+
+    /**
+     * This method multiplies this complex array by another one element by element.
+     * The method returns a new complex array holding the products.
+     * 
+     * @param array the complex array to multiply by.
+     * @return a new complex array holding the products.
+     */
+    public ComplexArray multiply(ComplexArray array) {
+        return multiply(this, array, new ComplexArray(length()));
+    }
+
+    /**
+     * This method multiplies every element of this complex array by a complex
+     * number. The method returns a new complex array holding the products.
+     * 
+     * @param number the complex number to multiply by.
+     * @return a new complex array holding the products.
+     */
+    public ComplexArray multiply(Complex number) {
+        return multiply(this, number, new ComplexArray(length()));
+    }
+
+    /**
+     * This method multiplies every element of this complex array by a real number.
+     * The method returns a new complex array holding the products.
+     * 
+     * @param value the real number to multiply by.
+     * @return a new complex array holding the products.
+     */
+    public ComplexArray multiply(double value) {
+        return multiply(this, value, new ComplexArray(length()));
+    }
+
+    /**
+     * This method returns the inverses of the elements of this complex array. An
+     * {@link ArithmeticException} is thrown if an element is equal to the zero
+     * complex number.
+     * 
+     * @return a new complex array holding the inverses.
+     */
+    public ComplexArray reciprocal() {
+        return reciprocal(this, new ComplexArray(length()));
+    }
+
+    /**
+     * This method replaces the element at the given index by a complex number.
+     * 
+     * @param index  the index of the element.
+     * @param number the new value.
+     */
+    public void set(int index, Complex number) {
+        set(index, number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This method replaces the element at the given index by the complex number
+     * real + imaginary i.
+     * 
+     * @param index     the index of the element.
+     * @param real      the new real part.
+     * @param imaginary the new imaginary part.
+     */
+    public void set(int index, double real, double imaginary) {
+        this.real[index] = real;
+        this.imaginary[index] = imaginary;
+    }
+
+    /**
+     * This method subtracts another complex array from this one element by
+     * element. The method returns a new complex array holding the differences.
+     * 
+     * @param array the complex array to be subtracted.
+     * @return a new complex array holding the differences.
+     */
+    public ComplexArray subtract(ComplexArray array) {
+        return subtract(this, array, new ComplexArray(length()));
+    }
+
+    /**
+     * This method converts the elements of this complex array to polar form,
+     * writing their magnitudes and arguments (angles, in radians) into the given
+     * arrays in a single pass. It is the inverse of
+     * {@link #fromPolar(double[], double[], ComplexArray)}.
+     * 
+     * @param magnitude the array receiving the magnitudes.
+     * @param argument  the array receiving the arguments.
+     */
+    public void toPolar(double[] magnitude, double[] argument) {
+        int n = length();
+        checkLength(magnitude, n);
+        checkLength(argument, n);
+        double[] ar = real, ai = imaginary;
+        for (int i = 0; i < n; i++) {
+            magnitude[i] = Complex.magnitude(ar[i], ai[i]);
+            argument[i] = Math.atan2(ai[i] + 0.0, ar[i] + 0.0);
+        }
+    }
+
+    /**
+     * This method returns the elements of this complex array as an unmodifiable
+     * list of complex numbers, with the current rounding policy applied.
+     * 
+     * @return a list of n Complex objects.
+     */
+    public List<Complex> toList() {
+        List<Complex> numbers = new ArrayList<>(length());
+        for (int i = 0; i < length(); i++) {
+            numbers.add(get(i));
+        }
+        return Collections.unmodifiableList(numbers);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+}
@@ -0,0 +1,82 @@
+package edev.complex;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * This class represents a bounded pool of complex arrays of a fixed length,
+ * recycled between the stages of a streaming pipeline so that a steady stream
+ * of blocks allocates nothing. A block is taken with {@link #acquire()} and
+ * given back with {@link #release(ComplexArray)} once it is no longer read;
+ * when the pool is empty a new block is allocated, and when it is full a
+ * released block is left to the garbage collector.<br/>
+ * A pool can be used from any number of threads. A block must not be used
+ * after it has been released.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexBlockPool {
+
+    private final int blockLength;
+
+    private final BlockingQueue<ComplexArray> blocks;
+
+    /**
+     * This constructor creates an empty pool.
+     * 
+     * @param blockLength the length of the blocks.
+     * @param capacity    the maximum number of idle blocks kept.
+     */
+    public ComplexBlockPool(int blockLength, int capacity) {
+        if (blockLength < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Block length and capacity must be positive: " + blockLength + ", "
+                                               + capacity);
+        }
+        this.blockLength = blockLength;
+        this.blocks = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * This method takes a block from this pool, or allocates one if the pool is
+     * empty. The content of a recycled block is left as it was.
+     * 
+     * @return a complex array of {@link #blockLength()} elements.
+     */
+    public ComplexArray acquire() {
+        ComplexArray block = blocks.poll();
+        return block != null ? block : new ComplexArray(blockLength);
+    }
+
+    /**
+     * This method returns the number of idle blocks held by this pool.
+     * 
+     * @return the number of blocks that {@link #acquire()} can return without
+     *         allocating.
+     */
+    public int available() {
+        return blocks.size();
+    }
+
+    /**
+     * This method returns the length of the blocks of this pool.
+     * 
+     * @return the block length.
+     */
+    public int blockLength() {
+        return blockLength;
+    }
+
+    /**
+     * This method gives a block back to this pool. An
+     * {@link IllegalArgumentException} is thrown if its length is not the block
+     * length of this pool.
+     * 
+     * @param block the block to be recycled.
+     */
+    public void release(ComplexArray block) {
+        if (block.length() != blockLength) {
+            throw new IllegalArgumentException("Length mismatch: " + block.length() + " instead of " + blockLength);
+        }
+        blocks.offer(block);
+    }
+}
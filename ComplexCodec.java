@@ -0,0 +1,146 @@
+package edev.complex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads and writes complex numbers in a compact binary form: each
+ * number takes {@value #BYTES} bytes, its real part followed by its imaginary
+ * part as IEEE 754 doubles. Buffers are read and written in their own byte
+ * order; files are little-endian and have no header, so a file of n numbers is
+ * exactly n * {@value #BYTES} bytes long.<br/>
+ * Bulk transfers go straight between the buffer and the primitive arrays of a
+ * {@link ComplexArray}, and files are memory-mapped in chunks, so large
+ * datasets load without creating an object per element.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexCodec {
+
+    /**
+     * The number of bytes taken by one complex number.
+     */
+    public static final int BYTES = 2 * Double.BYTES;
+
+    private static final int CHUNK = 1 << 24;
+
+    /**
+     * This static method reads one complex number from a byte buffer, advancing
+     * its position by {@value #BYTES}.
+     * 
+     * @param buffer the buffer to read from.
+     * @return a new Complex object holding the value read, with the current
+     *         rounding policy applied.
+     */
+    public static Complex read(ByteBuffer buffer) {
+        double real = buffer.getDouble();
+        return new Complex(real, buffer.getDouble());
+    }
+
+    /**
+     * This static method reads complex numbers from a byte buffer into a region of
+     * a complex array, advancing the position of the buffer by length *
+     * {@value #BYTES}.
+     * 
+     * @param buffer the buffer to read from.
+     * @param array  the complex array receiving the values.
+     * @param from   the index of the first element to write.
+     * @param length the number of elements to read.
+     * @return the complex array.
+     */
+    public static ComplexArray read(ByteBuffer buffer, ComplexArray array, int from, int length) {
+        double[] real = array.getRealParts(), imaginary = array.getImaginaryParts();
+        for (int i = from, to = from + length; i < to; i++) {
+            real[i] = buffer.getDouble();
+            imaginary[i] = buffer.getDouble();
+        }
+        return array;
+    }
+
+    /**
+     * This static method reads a whole file of complex numbers into a new complex
+     * array. An {@link IOException} is thrown if the file cannot be read or its
+     * length is not a multiple of {@value #BYTES}.
+     * 
+     * @param file the file to read.
+     * @return a new complex array holding the values of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static ComplexArray read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % BYTES != 0 || size / BYTES > Integer.MAX_VALUE) {
+                throw new IOException("Not a complex array file: " + file + " (" + size + " bytes)");
+            }
+            int length = (int) (size / BYTES);
+            ComplexArray array = new ComplexArray(length);
+            for (int from = 0; from < length; from += CHUNK) {
+                int count = Math.min(CHUNK, length - from);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, (long) from * BYTES, (long) count * BYTES);
+                read(buffer.order(ByteOrder.LITTLE_ENDIAN), array, from, count);
+            }
+            return array;
+        }
+    }
+
+    /**
+     * This static method writes one complex number to a byte buffer, advancing its
+     * position by {@value #BYTES}.
+     * 
+     * @param buffer the buffer to write to.
+     * @param number the complex number to write.
+     * @return the buffer.
+     */
+    public static ByteBuffer write(ByteBuffer buffer, Complex number) {
+        return buffer.putDouble(number.getRealPart())
+                     .putDouble(number.getImaginaryPart());
+    }
+
+    /**
+     * This static method writes a region of a complex array to a byte buffer,
+     * advancing its position by length * {@value #BYTES}.
+     * 
+     * @param buffer the buffer to write to.
+     * @param array  the complex array holding the values.
+     * @param from   the index of the first element to write.
+     * @param length the number of elements to write.
+     * @return the buffer.
+     */
+    public static ByteBuffer write(ByteBuffer buffer, ComplexArray array, int from, int length) {
+        double[] real = array.getRealParts(), imaginary = array.getImaginaryParts();
+        for (int i = from, to = from + length; i < to; i++) {
+            buffer.putDouble(real[i]);
+            buffer.putDouble(imaginary[i]);
+        }
+        return buffer;
+    }
+
+    /**
+     * This static method writes a whole complex array to a file, replacing its
+     * content.
+     * 
+     * @param file  the file to write.
+     * @param array the complex array to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path file, ComplexArray array) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int length = array.length();
+            for (int from = 0; from < length; from += CHUNK) {
+                int count = Math.min(CHUNK, length - from);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, (long) from * BYTES, (long) count * BYTES);
+                write(buffer.order(ByteOrder.LITTLE_ENDIAN), array, from, count);
+            }
+        }
+    }
+
+    private ComplexCodec() {
+    }
+
+}
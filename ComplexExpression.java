@@ -0,0 +1,550 @@
+package edev.complex;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a chain of complex operations applied to a variable z,
+ * such as ((z b + c) / d)^3, recorded lazily and evaluated in a single pass.
+ * Where the eager form {@code a.multiply(b).add(c).divide(d).power(3)} builds an
+ * intermediate {@link Complex} at each step and rounds it, an expression keeps
+ * the intermediate values in local variables and applies the rounding policy
+ * of {@link Complex} once, to the final result. Its value can therefore differ
+ * from the eager one in the last rounded place.<br/>
+ * Expressions are compiled as they are built: a multiplication by a constant
+ * followed by an addition is fused into one multiply-add step, so that both
+ * are applied in a single pass. The step multiplies and then adds with plain
+ * arithmetic, rounding as the eager chain does; it does not call
+ * {@link Math#fma(double, double, double)}, which is computed in software, far
+ * more slowly, on processors without a fused multiply-add instruction.
+ * Divisions by a constant precompute the ratio and divisor of Smith's
+ * algorithm, exactly as {@link Complex#divide(Complex)} would.<br/>
+ * The same expression evaluates a single point or a whole {@link ComplexArray},
+ * block by block, each step being a loop over primitive arrays held in the L1
+ * cache.<br/>
+ * A complex expression is immutable and can be shared between threads.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexExpression {
+
+    private static final int ADD = 0;
+
+    private static final int DIVIDE_REAL = 1;
+
+    private static final int DIVIDE_TALL = 2;
+
+    private static final int DIVIDE_WIDE = 3;
+
+    private static final int MULTIPLY = 4;
+
+    private static final int MULTIPLY_ADD = 5;
+
+    private static final int POWER = 6;
+
+    private static final int SCALE = 7;
+
+    private static final int SCALE_ADD = 8;
+
+    private static final int BLOCK = 1024;
+
+    private static final ComplexExpression VARIABLE = new ComplexExpression(new int[0], new double[0]);
+
+    /**
+     * This static method returns the expression z, the starting point of every
+     * chain.
+     * 
+     * @return the expression z.
+     */
+    public static ComplexExpression variable() {
+        return VARIABLE;
+    }
+
+    private static void power(double[] rr, double[] ri, int from, int to, int exponent, double[] br, double[] bi) {
+        if (exponent == 0) {
+            Arrays.fill(rr, from, to, 1);
+            Arrays.fill(ri, from, to, 0);
+            return;
+        }
+        boolean zero = false;
+        for (int i = from; i < to; i++) {
+            zero |= rr[i] == 0 & ri[i] == 0;
+        }
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(exponent < 0 && zero, "Division by zero");
+        long remaining = Math.abs((long) exponent);
+        if (remaining > Complex.POLAR_POWER_THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                double modulus = Math.pow(Complex.magnitude(rr[i], ri[i]), exponent);
+                double argument = Math.atan2(ri[i] + 0.0, rr[i] + 0.0) * exponent;
+                rr[i] = modulus * Math.cos(argument);
+                ri[i] = modulus * Math.sin(argument);
+            }
+            return;
+        }
+        int count = to - from;
+        System.arraycopy(rr, from, br, 0, count);
+        System.arraycopy(ri, from, bi, 0, count);
+        Arrays.fill(rr, from, to, 1);
+        Arrays.fill(ri, from, to, 0);
+        while (true) {
+            if ((remaining & 1) != 0) {
+                for (int j = 0; j < count; j++) {
+                    int i = from + j;
+                    double product = (rr[i] * br[j]) - (ri[i] * bi[j]);
+                    ri[i] = (rr[i] * bi[j]) + (ri[i] * br[j]);
+                    rr[i] = product;
+                }
+            }
+            remaining >>>= 1;
+            if (remaining == 0) {
+                break;
+            }
+            for (int j = 0; j < count; j++) {
+                double square = (br[j] * br[j]) - (bi[j] * bi[j]);
+                bi[j] = 2 * br[j] * bi[j];
+                br[j] = square;
+            }
+        }
+        if (exponent < 0) {
+            for (int i = from; i < to; i++) {
+                double real = rr[i], imaginary = ri[i];
+                boolean wide = Math.abs(real) >= Math.abs(imaginary);
+                double ratio = wide ? imaginary / real : real / imaginary;
+                double divisor = wide ? real + (imaginary * ratio) : (real * ratio) + imaginary;
+                rr[i] = wide ? 1 / divisor : ratio / divisor;
+                ri[i] = wide ? -ratio / divisor : -1 / divisor;
+            }
+        }
+    }
+
+    private static ComplexAccumulator power(double real, double imaginary, int exponent, ComplexAccumulator result) {
+        if (exponent == 0) {
+            return result.set(1, 0);
+        }
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(exponent < 0 && real == 0 && imaginary == 0, "Division by zero");
+        long remaining = Math.abs((long) exponent);
+        if (remaining > Complex.POLAR_POWER_THRESHOLD) {
+            double modulus = Math.pow(Complex.magnitude(real, imaginary), exponent);
+            double argument = Math.atan2(imaginary + 0.0, real + 0.0) * exponent;
+            return result.set(modulus * Math.cos(argument), modulus * Math.sin(argument));
+        }
+        double re = 1, im = 0;
+        double baseReal = real, baseImaginary = imaginary;
+        while (true) {
+            if ((remaining & 1) != 0) {
+                double product = (re * baseReal) - (im * baseImaginary);
+                im = (re * baseImaginary) + (im * baseReal);
+                re = product;
+            }
+            remaining >>>= 1;
+            if (remaining == 0) {
+                break;
+            }
+            double square = (baseReal * baseReal) - (baseImaginary * baseImaginary);
+            baseImaginary = 2 * baseReal * baseImaginary;
+            baseReal = square;
+        }
+        if (exponent > 0) {
+            return result.set(re, im);
+        } else if (Math.abs(re) >= Math.abs(im)) {
+            double ratio = im / re;
+            double divisor = re + (im * ratio);
+            return result.set(1 / divisor, -ratio / divisor);
+        } else {
+            double ratio = re / im;
+            double divisor = (re * ratio) + im;
+            return result.set(ratio / divisor, -1 / divisor);
+        }
+    }
+
+    private final int[] codes;
+
+    private final double[] operands;
+
+    private ComplexExpression(int[] codes, double[] operands) {
+        this.codes = codes;
+        this.operands = operands;
+    }
+
+    /**
+     * This method returns the expression adding a complex number to this one. If
+     * this expression ends with a multiplication, the two steps are fused into a
+     * multiply-add.
+     * 
+     * @param number the complex number to be added.
+     * @return a new expression, this one plus number.
+     */
+    public ComplexExpression add(Complex number) {
+        return add(number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This method returns the expression adding a real number to this one. If
+     * this expression ends with a multiplication, the two steps are fused into a
+     * multiply-add.
+     * 
+     * @param value the real number to be added.
+     * @return a new expression, this one plus value.
+     */
+    public ComplexExpression add(double value) {
+        return add(value, -0.0);
+    }
+
+    /**
+     * This method returns the expression dividing this one by a complex number.
+     * An {@link ArithmeticException} is thrown if number is equal to the zero
+     * complex number.
+     * 
+     * @param number the complex number to divide by.
+     * @return a new expression, this one divided by number.
+     */
+    public ComplexExpression divide(Complex number) {
+        double c = number.getRealPart();
+        double d = number.getImaginaryPart();
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(c == 0 && d == 0, "Division by zero");
+        if (Math.abs(c) >= Math.abs(d)) {
+            double ratio = d / c;
+            return append(DIVIDE_WIDE, ratio, c + (d * ratio), c, d);
+        }
+        double ratio = c / d;
+        return append(DIVIDE_TALL, ratio, (c * ratio) + d, c, d);
+    }
+
+    /**
+     * This method returns the expression dividing this one by a real number. An
+     * {@link ArithmeticException} is thrown if value is zero.
+     * 
+     * @param value the real number to divide by.
+     * @return a new expression, this one divided by value.
+     */
+    public ComplexExpression divide(double value) {
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(value == 0, "Division by zero");
+        return append(DIVIDE_REAL, value, 0, 0, 0);
+    }
+
+    /**
+     * This method evaluates this expression at a complex number, rounding only
+     * the final result.
+     * 
+     * @param number the value of z.
+     * @return a new Complex object holding the value of this expression.
+     */
+    public Complex evaluate(Complex number) {
+        return evaluate(number.getRealPart(), number.getImaginaryPart(), new ComplexAccumulator()).toComplex();
+    }
+
+    /**
+     * This method evaluates this expression at every element of a complex array.
+     * 
+     * @param points the values of z.
+     * @return a new complex array holding the values of this expression.
+     */
+    public ComplexArray evaluate(ComplexArray points) {
+        return evaluate(points, new ComplexArray(points.length()));
+    }
+
+    /**
+     * This method evaluates this expression at every element of a complex array,
+     * into another one. The points are processed in blocks of 1024: each block is
+     * copied into the result and every step is then one loop over it, which stays in
+     * the L1 cache. As for the other bulk operations, the parts are kept exactly as
+     * computed. The result array may be the points array. If a step divides by zero,
+     * an {@link ArithmeticException} is thrown and the result is left partly
+     * written.
+     * 
+     * @param points the values of z.
+     * @param result the complex array receiving the values, of the same length.
+     * @return the result array.
+     */
+    public ComplexArray evaluate(ComplexArray points, ComplexArray result) {
+        int n = points.length();
+        if (result.length() != n) {
+            throw new IllegalArgumentException("Length mismatch: " + result.length() + " instead of " + n);
+        }
+        double[] pr = points.getRealParts(), pi = points.getImaginaryParts();
+        double[] rr = result.getRealParts(), ri = result.getImaginaryParts();
+        double[] br = null, bi = null;
+        for (int code : codes) {
+            if (code == POWER) {
+                br = new double[Math.min(BLOCK, n)];
+                bi = new double[br.length];
+                break;
+            }
+        }
+        for (int from = 0; from < n; from += BLOCK) {
+            int to = Math.min(from + BLOCK, n);
+            if (pr != rr) {
+                System.arraycopy(pr, from, rr, from, to - from);
+                System.arraycopy(pi, from, ri, from, to - from);
+            }
+            for (int k = 0, o = 0; k < codes.length; k++, o += 4) {
+                double a = operands[o], b = operands[o + 1], c = operands[o + 2], d = operands[o + 3];
+                switch (codes[k]) {
+                case ADD:
+                    for (int i = from; i < to; i++) {
+                        rr[i] += a;
+                        ri[i] += b;
+                    }
+                    break;
+                case DIVIDE_REAL:
+                    for (int i = from; i < to; i++) {
+                        rr[i] /= a;
+                        ri[i] /= a;
+                    }
+                    break;
+                case DIVIDE_TALL:
+                    for (int i = from; i < to; i++) {
+                        double re = ((rr[i] * a) + ri[i]) / b;
+                        ri[i] = ((ri[i] * a) - rr[i]) / b;
+                        rr[i] = re;
+                    }
+                    break;
+                case DIVIDE_WIDE:
+                    for (int i = from; i < to; i++) {
+                        double re = (rr[i] + (ri[i] * a)) / b;
+                        ri[i] = (ri[i] - (rr[i] * a)) / b;
+                        rr[i] = re;
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int i = from; i < to; i++) {
+                        double re = (rr[i] * a) - (ri[i] * b);
+                        ri[i] = (rr[i] * b) + (ri[i] * a);
+                        rr[i] = re;
+                    }
+                    break;
+                case MULTIPLY_ADD:
+                    for (int i = from; i < to; i++) {
+                        double re = ((rr[i] * a) - (ri[i] * b)) + c;
+                        ri[i] = ((rr[i] * b) + (ri[i] * a)) + d;
+                        rr[i] = re;
+                    }
+                    break;
+                case POWER:
+                    power(rr, ri, from, to, (int) a, br, bi);
+                    break;
+                case SCALE:
+                    for (int i = from; i < to; i++) {
+                        rr[i] *= a;
+                        ri[i] *= a;
+                    }
+                    break;
+                default:
+                    for (int i = from; i < to; i++) {
+                        rr[i] = (rr[i] * a) + c;
+                        ri[i] = (ri[i] * a) + d;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This method evaluates this expression at the complex number real +
+     * imaginary i into an accumulator, without allocating. The intermediate
+     * values are kept in local variables and the parts are not rounded.
+     * 
+     * @param real      the real part of z.
+     * @param imaginary the imaginary part of z.
+     * @param result    the accumulator receiving the value.
+     * @return the result accumulator.
+     */
+    public ComplexAccumulator evaluate(double real, double imaginary, ComplexAccumulator result) {
+        double re = real, im = imaginary;
+        for (int k = 0, o = 0; k < codes.length; k++, o += 4) {
+            double a = operands[o], b = operands[o + 1], c = operands[o + 2], d = operands[o + 3];
+            double product;
+            switch (codes[k]) {
+            case ADD:
+                re += a;
+                im += b;
+                break;
+            case DIVIDE_REAL:
+                re /= a;
+                im /= a;
+                break;
+            case DIVIDE_TALL:
+                product = ((re * a) + im) / b;
+                im = ((im * a) - re) / b;
+                re = product;
+                break;
+            case DIVIDE_WIDE:
+                product = (re + (im * a)) / b;
+                im = (im - (re * a)) / b;
+                re = product;
+                break;
+            case MULTIPLY:
+                product = (re * a) - (im * b);
+                im = (re * b) + (im * a);
+                re = product;
+                break;
+            case MULTIPLY_ADD:
+                product = ((re * a) - (im * b)) + c;
+                im = ((re * b) + (im * a)) + d;
+                re = product;
+                break;
+            case POWER:
+                power(re, im, (int) a, result);
+                re = result.getRealPart();
+                im = result.getImaginaryPart();
+                break;
+            case SCALE:
+                re *= a;
+                im *= a;
+                break;
+            default:
+                re = (re * a) + c;
+                im = (im * a) + d;
+            }
+        }
+        return result.set(re, im);
+    }
+
+    /**
+     * This method returns the expression multiplying this one by a complex
+     * number.
+     * 
+     * @param number the complex number to multiply by.
+     * @return a new expression, this one times number.
+     */
+    public ComplexExpression multiply(Complex number) {
+        return append(MULTIPLY, number.getRealPart(), number.getImaginaryPart(), 0, 0);
+    }
+
+    /**
+     * This method returns the expression multiplying this one by a real number.
+     * 
+     * @param value the real number to multiply by.
+     * @return a new expression, this one times value.
+     */
+    public ComplexExpression multiply(double value) {
+        return append(SCALE, value, 0, 0, 0);
+    }
+
+    /**
+     * This method returns the expression raising this one to an integer power,
+     * computed as {@link Complex#power(int)}. When the expression is evaluated,
+     * an {@link ArithmeticException} is thrown if exponent is negative and this
+     * expression is zero.
+     * 
+     * @param exponent the integer power.
+     * @return a new expression, this one raised to exponent.
+     */
+    public ComplexExpression power(int exponent) {
+        return exponent == 1 ? this : append(POWER, exponent, 0, 0, 0);
+    }
+
+    /**
+     * This method returns the number of steps of this expression, after fusion.
+     * 
+     * @return the number of steps evaluated per point.
+     */
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * This method returns the expression subtracting a complex number from this
+     * one. If this expression ends with a multiplication, the two steps are fused
+     * into a multiply-add.
+     * 
+     * @param number the complex number to be subtracted.
+     * @return a new expression, this one minus number.
+     */
+    public ComplexExpression subtract(Complex number) {
+        return add(-number.getRealPart(), -number.getImaginaryPart());
+    }
+
+    /**
+     * This method returns the expression subtracting a real number from this
+     * one. If this expression ends with a multiplication, the two steps are fused
+     * into a multiply-add.
+     * 
+     * @param value the real number to be subtracted.
+     * @return a new expression, this one minus value.
+     */
+    public ComplexExpression subtract(double value) {
+        return add(-value, -0.0);
+    }
+
+    /**
+     * This method returns a string representation of this expression, such as
+     * "((z * (2.0+i) + (3.0)) / (4.0))^3", with the operands in the external form
+     * of {@link Complex}. Fused steps are shown as written and subtractions as
+     * additions of the opposite.
+     * 
+     * @return a string representation of this expression.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("z");
+        for (int k = 0, o = 0; k < codes.length; k++, o += 4) {
+            double a = operands[o], b = operands[o + 1], c = operands[o + 2], d = operands[o + 3];
+            if (codes[k] == POWER) {
+                builder.append('^')
+                       .append((int) a);
+                continue;
+            }
+            builder.insert(0, '(');
+            switch (codes[k]) {
+            case ADD:
+                operand(builder.append(" + "), a, b);
+                break;
+            case DIVIDE_REAL:
+                builder.append(" / ")
+                       .append(a);
+                break;
+            case DIVIDE_TALL:
+            case DIVIDE_WIDE:
+                operand(builder.append(" / "), c, d);
+                break;
+            case MULTIPLY:
+                operand(builder.append(" * "), a, b);
+                break;
+            case MULTIPLY_ADD:
+                operand(builder.append(" * "), a, b);
+                operand(builder.append(" + "), c, d);
+                break;
+            case SCALE:
+                builder.append(" * ")
+                       .append(a);
+                break;
+            default:
+                builder.append(" * ")
+                       .append(a);
+                operand(builder.append(" + "), c, d);
+            }
+            builder.append(')');
+        }
+        return builder.toString();
+    }
+
+    private ComplexExpression add(double real, double imaginary) {
+        int last = codes.length - 1;
+        if (last >= 0 && (codes[last] == MULTIPLY || codes[last] == SCALE)) {
+            int[] fused = codes.clone();
+            fused[last] = codes[last] == MULTIPLY ? MULTIPLY_ADD : SCALE_ADD;
+            double[] values = operands.clone();
+            values[(4 * last) + 2] = real;
+            values[(4 * last) + 3] = imaginary;
+            return new ComplexExpression(fused, values);
+        }
+        return append(ADD, real, imaginary, 0, 0);
+    }
+
+    private ComplexExpression append(int code, double a, double b, double c, double d) {
+        int[] steps = Arrays.copyOf(codes, codes.length + 1);
+        steps[codes.length] = code;
+        double[] values = Arrays.copyOf(operands, operands.length + 4);
+        values[operands.length] = a;
+        values[operands.length + 1] = b;
+        values[operands.length + 2] = c;
+        values[operands.length + 3] = d;
+        return new ComplexExpression(steps, values);
+    }
+
+    private void operand(StringBuilder builder, double real, double imaginary) {
+        ComplexFormat.format(new Complex(real, imaginary), builder.append('('))
+                     .append(')');
+    }
+}
@@ -0,0 +1,268 @@
+package edev.complex;
+
+/**
+ * This class represents a complex number whose parts are floats, for workloads
+ * that trade precision for memory: about seven significant digits instead of
+ * sixteen, in half the space. Every operation is computed in double precision
+ * and rounded to float once, so the result is the float nearest to the exact
+ * one in most cases. The rounding policy of {@link Complex} does not apply: the
+ * float format is the rounding.<br/>
+ * Complex floats are immutable and can be shared between threads.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexFloat implements ComplexNumber<ComplexFloat> {
+
+    /**
+     * The complex number one
+     */
+    public static final ComplexFloat ONE = new ComplexFloat(1, 0);
+
+    /**
+     * The complex number zero
+     */
+    public static final ComplexFloat ZERO = new ComplexFloat(0, 0);
+
+    /**
+     * This static method returns the complex number real + imaginary i, its parts
+     * rounded to the nearest floats. It is the {@link ComplexNumber.Factory} of
+     * this class.
+     * 
+     * @param real      the real part.
+     * @param imaginary the imaginary part.
+     * @return a new ComplexFloat object.
+     */
+    public static ComplexFloat valueOf(double real, double imaginary) {
+        return new ComplexFloat((float) real, (float) imaginary);
+    }
+
+    private static boolean same(float value1, float value2) {
+        return value1 == value2 || (value1 != value1 && value2 != value2);
+    }
+
+    private final float imaginaryPart;
+
+    private final float realPart;
+
+    /**
+     * This constructor creates a complex number from its parts.
+     * 
+     * @param real      the real part.
+     * @param imaginary the imaginary part.
+     */
+    public ComplexFloat(float real, float imaginary) {
+        this.realPart = real;
+        this.imaginaryPart = imaginary;
+    }
+
+    /**
+     * This method adds this complex number to another one.
+     * 
+     * @param number the complex number to be added.
+     * @return the sum of this number and number.
+     */
+    @Override
+    public ComplexFloat add(ComplexFloat number) {
+        return new ComplexFloat(realPart + number.realPart, imaginaryPart + number.imaginaryPart);
+    }
+
+    /**
+     * This method divides this complex number by another one. An
+     * {@link ArithmeticException} is thrown if number is equal to zero. The
+     * squared magnitude of any float fits in a double, so the quotient is
+     * computed directly without overflow.
+     * 
+     * @param number the complex number to divide by.
+     * @return the quotient of this number and number.
+     */
+    @Override
+    public ComplexFloat divide(ComplexFloat number) {
+        double c = number.realPart;
+        double d = number.imaginaryPart;
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(c == 0 && d == 0, "Division by zero");
+        double divisor = (c * c) + (d * d);
+        return valueOf(((realPart * c) + (imaginaryPart * d)) / divisor,
+                       ((imaginaryPart * c) - (realPart * d)) / divisor);
+    }
+
+    /**
+     * This method checks if this complex number is equal to another object, with
+     * the same rules as {@link Complex#equals(Object)}: 0.0 and -0.0 are equal,
+     * and NaN is equal to NaN.
+     * 
+     * @param object the object to compare this number to.
+     * @return true if object is a complex float with the same parts, and false
+     *         otherwise.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof ComplexFloat) {
+            ComplexFloat other = (ComplexFloat) object;
+            return same(realPart, other.realPart) && same(imaginaryPart, other.imaginaryPart);
+        }
+        return false;
+    }
+
+    /**
+     * This method returns the conjugate of this complex number.
+     * 
+     * @return the conjugate of this number.
+     */
+    @Override
+    public ComplexFloat getConjugate() {
+        return new ComplexFloat(realPart, -imaginaryPart);
+    }
+
+    /**
+     * This method returns the imaginary part of this complex number.
+     * 
+     * @return the imaginary part, exactly.
+     */
+    @Override
+    public double getImaginaryPart() {
+        return imaginaryPart;
+    }
+
+    /**
+     * This method returns the magnitude of this complex number, computed in
+     * double precision.
+     * 
+     * @return the magnitude of this number.
+     */
+    @Override
+    public double getMagnitude() {
+        return Math.sqrt(((double) realPart * realPart) + ((double) imaginaryPart * imaginaryPart));
+    }
+
+    /**
+     * This method returns the real part of this complex number.
+     * 
+     * @return the real part, exactly.
+     */
+    @Override
+    public double getRealPart() {
+        return realPart;
+    }
+
+    /**
+     * This method returns a hash code consistent with {@link #equals(Object)}.
+     * 
+     * @return the hash code of this number.
+     */
+    @Override
+    public int hashCode() {
+        return (31 * Float.floatToIntBits(realPart + 0.0f)) + Float.floatToIntBits(imaginaryPart + 0.0f);
+    }
+
+    /**
+     * This method returns the inverse of this complex number. An
+     * {@link ArithmeticException} is thrown if this number is equal to zero.
+     * 
+     * @return the inverse of this number.
+     */
+    @Override
+    public ComplexFloat inverse() {
+        return ONE.divide(this);
+    }
+
+    /**
+     * This method multiplies this complex number by another one.
+     * 
+     * @param number the complex number to multiply by.
+     * @return the product of this number and number.
+     */
+    @Override
+    public ComplexFloat multiply(ComplexFloat number) {
+        double a = realPart, b = imaginaryPart, c = number.realPart, d = number.imaginaryPart;
+        return valueOf((a * c) - (b * d), (a * d) + (b * c));
+    }
+
+    /**
+     * This method raises this complex number to an integer power by repeated
+     * squaring in double precision, of its inverse if exponent is negative,
+     * rounding to float once at the end. An {@link ArithmeticException} is
+     * thrown if exponent is negative and this number is equal to zero.
+     * 
+     * @param exponent the integer power.
+     * @return this number raised to exponent.
+     */
+    @Override
+    public ComplexFloat power(int exponent) {
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(exponent < 0 && realPart == 0 && imaginaryPart == 0,
+                                                         "Division by zero");
+        double real = 1, imaginary = 0;
+        double baseReal = realPart, baseImaginary = imaginaryPart;
+        if (exponent < 0) {
+            double divisor = (baseReal * baseReal) + (baseImaginary * baseImaginary);
+            baseReal /= divisor;
+            baseImaginary = -baseImaginary / divisor;
+        }
+        for (long remaining = Math.abs((long) exponent); remaining != 0; remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                double product = (real * baseReal) - (imaginary * baseImaginary);
+                imaginary = (real * baseImaginary) + (imaginary * baseReal);
+                real = product;
+            }
+            double square = (baseReal * baseReal) - (baseImaginary * baseImaginary);
+            baseImaginary = 2 * baseReal * baseImaginary;
+            baseReal = square;
+        }
+        return valueOf(real, imaginary);
+    }
+
+    /**
+     * This method subtracts another complex number from this one.
+     * 
+     * @param number the complex number to be subtracted.
+     * @return the difference of this number and number.
+     */
+    @Override
+    public ComplexFloat subtract(ComplexFloat number) {
+        return new ComplexFloat(realPart - number.realPart, imaginaryPart - number.imaginaryPart);
+    }
+
+    /**
+     * This method returns this complex number as a {@link Complex}, with the
+     * rounding policy of Complex applied.
+     * 
+     * @return a new Complex object with the parts of this number.
+     */
+    public Complex toComplex() {
+        return new Complex(realPart, imaginaryPart);
+    }
+
+    /**
+     * This method returns the external form of this complex number, as
+     * {@link Complex#toString()} does, with the parts printed as floats, such as
+     * "1.5-2.0i".
+     * 
+     * @return the external form of this number.
+     */
+    @Override
+    public String toString() {
+        if (realPart == 0 && imaginaryPart == 0) {
+            return "0";
+        }
+        StringBuilder builder = new StringBuilder(24);
+        if (realPart != 0) {
+            builder.append(realPart);
+        }
+        if (imaginaryPart > 0 || imaginaryPart != imaginaryPart) {
+            if (realPart != 0) {
+                builder.append('+');
+            }
+            if (imaginaryPart != 1) {
+                builder.append(imaginaryPart);
+            }
+            builder.append('i');
+        } else if (imaginaryPart < 0) {
+            if (imaginaryPart == -1) {
+                builder.append('-');
+            } else {
+                builder.append(imaginaryPart);
+            }
+            builder.append('i');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,143 @@
+package edev.complex;
+
+import java.nio.CharBuffer;
+
+/**
+ * This class converts complex numbers to and from their external form, the one
+ * returned by {@link Complex#toString()}: "0", "a", "bi", "i", "-i", "a+bi",
+ * "a-bi", "a+i" and "a-i", where a and b are written as by
+ * {@link Double#toString(double)}.<br/>
+ * Formatting appends to a caller-supplied {@link StringBuilder} or
+ * {@link CharBuffer} and creates no garbage once warmed up. Parsing scans the
+ * text once to split the parts and hands each of them to
+ * {@link Double#parseDouble(String)}.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexFormat {
+
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    /**
+     * This static method appends the external form of a complex number to a
+     * character buffer.
+     * 
+     * @param number the complex number to format.
+     * @param target the character buffer receiving the external form.
+     * @return the target buffer.
+     * @throws java.nio.BufferOverflowException if the buffer has not enough room
+     *                                          left.
+     */
+    public static CharBuffer format(Complex number, CharBuffer target) {
+        StringBuilder scratch = SCRATCH.get();
+        scratch.setLength(0);
+        format(number, scratch);
+        for (int i = 0; i < scratch.length(); i++) {
+            target.put(scratch.charAt(i));
+        }
+        return target;
+    }
+
+    /**
+     * This static method appends the external form of a complex number to a
+     * string builder.
+     * 
+     * @param number the complex number to format.
+     * @param target the string builder receiving the external form.
+     * @return the target builder.
+     */
+    public static StringBuilder format(Complex number, StringBuilder target) {
+        double real = number.getRealPart();
+        double imaginary = number.getImaginaryPart();
+        if (real == 0 && imaginary == 0) {
+            return target.append('0');
+        }
+        if (real != 0) {
+            target.append(real);
+        }
+        if (imaginary > 0 || imaginary != imaginary) {
+            if (real != 0) {
+                target.append('+');
+            }
+            if (imaginary != 1) {
+                target.append(imaginary);
+            }
+            target.append('i');
+        } else if (imaginary < 0) {
+            if (imaginary == -1) {
+                target.append('-');
+            } else {
+                target.append(imaginary);
+            }
+            target.append('i');
+        }
+        return target;
+    }
+
+    /**
+     * This static method parses the external form of a complex number. A
+     * {@link NumberFormatException} is thrown if the text is not such a form.
+     * 
+     * @param text the external form of a complex number.
+     * @return a new Complex object holding the parsed value, with the current
+     *         rounding policy applied.
+     */
+    public static Complex parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * This static method parses the external form of a complex number held in a
+     * region of a character sequence, from start inclusive to end exclusive. A
+     * {@link NumberFormatException} is thrown if the region is not such a form.
+     * 
+     * @param text  the character sequence holding the external form.
+     * @param start the index of the first character of the external form.
+     * @param end   the index following the last character of the external form.
+     * @return a new Complex object holding the parsed value, with the current
+     *         rounding policy applied.
+     */
+    public static Complex parse(CharSequence text, int start, int end) {
+        if (start >= end) {
+            throw new NumberFormatException("Empty complex number");
+        }
+        if (text.charAt(end - 1) != 'i') {
+            return new Complex(parseDouble(text, start, end), 0);
+        }
+        int imaginaryEnd = end - 1;
+        int split = start;
+        for (int i = imaginaryEnd - 1; i > start; i--) {
+            char c = text.charAt(i);
+            if ((c == '+' || c == '-') && text.charAt(i - 1) != 'E' && text.charAt(i - 1) != 'e') {
+                split = i;
+                break;
+            }
+        }
+        double real = split == start ? 0 : parseDouble(text, start, split);
+        return new Complex(real, parseImaginary(text, split, imaginaryEnd));
+    }
+
+    private static double parseDouble(CharSequence text, int start, int end) {
+        return Double.parseDouble(text.subSequence(start, end)
+                                      .toString());
+    }
+
+    private static double parseImaginary(CharSequence text, int start, int end) {
+        if (start == end) {
+            return 1;
+        }
+        if (start + 1 == end) {
+            char sign = text.charAt(start);
+            if (sign == '+') {
+                return 1;
+            } else if (sign == '-') {
+                return -1;
+            }
+        }
+        return parseDouble(text, start, end);
+    }
+
+    private ComplexFormat() {
+    }
+
+}
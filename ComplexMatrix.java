@@ -0,0 +1,823 @@
+package edev.complex;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class represents a dense matrix of complex numbers stored as two
+ * primitive arrays in row-major order, one for the real parts and one for the
+ * imaginary parts, like {@link ComplexArray}. The arithmetic follows
+ * {@link Complex}: the parts are kept exactly as computed, the rounding policy
+ * is only applied when an element is read back with {@link #get(int, int)},
+ * and division by a zero pivot goes through the same division-by-zero handling
+ * and throws an {@link ArithmeticException}.<br/>
+ * Matrix multiplication works on cache-sized blocks, with the innermost loop
+ * running along rows of primitive arrays so that it compiles to SIMD
+ * instructions, and spreads the rows of the result over the common fork/join
+ * pool for large products. LU and QR decompositions are computed in place,
+ * either in a copy or, to save memory, in the matrix itself.<br/>
+ * A complex matrix is not thread-safe; concurrent readers are fine as long as
+ * no thread writes to it.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexMatrix {
+
+    /**
+     * This class represents the LU decomposition with partial pivoting of a
+     * square complex matrix, P A = L U, with L unit lower triangular and U upper
+     * triangular, both stored in one matrix.
+     */
+    public static final class LUDecomposition {
+
+        private final ComplexMatrix lu;
+
+        private final int[] pivots;
+
+        private final int sign;
+
+        private LUDecomposition(ComplexMatrix lu, int[] pivots, int sign) {
+            this.lu = lu;
+            this.pivots = pivots;
+            this.sign = sign;
+        }
+
+        /**
+         * This method returns the determinant of the decomposed matrix.
+         * 
+         * @return the determinant.
+         */
+        public Complex determinant() {
+            ComplexAccumulator product = new ComplexAccumulator(sign, 0);
+            int n = lu.rows;
+            for (int k = 0; k < n; k++) {
+                product.multiplyInPlace(lu.real[(k * n) + k], lu.imaginary[(k * n) + k]);
+            }
+            return product.toComplex();
+        }
+
+        /**
+         * This method returns the factors L and U, stored in one matrix: U on and
+         * above the diagonal, L below it, its unit diagonal being implicit. It is
+         * the backing matrix, not a copy.
+         * 
+         * @return the factors.
+         */
+        public ComplexMatrix getFactors() {
+            return lu;
+        }
+
+        /**
+         * This method returns the row permutation: row k of P A is row pivots[k]
+         * of A.
+         * 
+         * @return a copy of the permutation.
+         */
+        public int[] getPivots() {
+            return pivots.clone();
+        }
+
+        /**
+         * This method solves A x = b for x.
+         * 
+         * @param vector the right-hand side b.
+         * @return a new complex array holding the solution x.
+         */
+        public ComplexArray solve(ComplexArray vector) {
+            int n = lu.rows;
+            checkLength(vector, n);
+            double[] xr = new double[n], xi = new double[n];
+            double[] br = vector.getRealParts(), bi = vector.getImaginaryParts();
+            for (int i = 0; i < n; i++) {
+                xr[i] = br[pivots[i]];
+                xi[i] = bi[pivots[i]];
+            }
+            double[] ar = lu.real, ai = lu.imaginary;
+            for (int i = 0; i < n; i++) {
+                double sr = xr[i], si = xi[i];
+                for (int j = 0, row = i * n; j < i; j++) {
+                    sr -= (ar[row + j] * xr[j]) - (ai[row + j] * xi[j]);
+                    si -= (ar[row + j] * xi[j]) + (ai[row + j] * xr[j]);
+                }
+                xr[i] = sr;
+                xi[i] = si;
+            }
+            backSubstitute(ar, ai, n, null, null, xr, xi);
+            return ComplexArray.wrap(xr, xi);
+        }
+
+        /**
+         * This method solves A X = B for X, column by column.
+         * 
+         * @param matrix the right-hand sides B, with as many rows as A.
+         * @return a new complex matrix holding the solutions X.
+         */
+        public ComplexMatrix solve(ComplexMatrix matrix) {
+            return solveColumns(matrix, this::solve);
+        }
+    }
+
+    /**
+     * This class represents the QR decomposition of a complex matrix with at
+     * least as many rows as columns, A = Q R, computed with Householder
+     * reflections. Q is kept as the reflections themselves, below the diagonal,
+     * and R above it.
+     */
+    public static final class QRDecomposition {
+
+        private final double[] diagonalImaginary;
+
+        private final double[] diagonalReal;
+
+        private final ComplexMatrix qr;
+
+        private QRDecomposition(ComplexMatrix qr, double[] diagonalReal, double[] diagonalImaginary) {
+            this.qr = qr;
+            this.diagonalReal = diagonalReal;
+            this.diagonalImaginary = diagonalImaginary;
+        }
+
+        /**
+         * This method returns the upper triangular factor R.
+         * 
+         * @return a new complex matrix holding R, with as many rows and columns as A
+         *         has columns.
+         */
+        public ComplexMatrix getR() {
+            int n = qr.columns;
+            ComplexMatrix r = new ComplexMatrix(n, n);
+            for (int i = 0; i < n; i++) {
+                r.real[(i * n) + i] = diagonalReal[i];
+                r.imaginary[(i * n) + i] = diagonalImaginary[i];
+                System.arraycopy(qr.real, (i * n) + i + 1, r.real, (i * n) + i + 1, n - i - 1);
+                System.arraycopy(qr.imaginary, (i * n) + i + 1, r.imaginary, (i * n) + i + 1, n - i - 1);
+            }
+            return r;
+        }
+
+        /**
+         * This method solves A x = b for x, in the least-squares sense if A has
+         * more rows than columns. An {@link ArithmeticException} is thrown if A does
+         * not have full column rank.
+         * 
+         * @param vector the right-hand side b.
+         * @return a new complex array holding the solution x.
+         */
+        public ComplexArray solve(ComplexArray vector) {
+            int m = qr.rows, n = qr.columns;
+            checkLength(vector, m);
+            double[] xr = vector.getRealParts()
+                                .clone();
+            double[] xi = vector.getImaginaryParts()
+                                .clone();
+            double[] ar = qr.real, ai = qr.imaginary;
+            for (int k = 0; k < n; k++) {
+                double dotReal = 0, dotImaginary = 0;
+                for (int i = k, index = (k * n) + k; i < m; i++, index += n) {
+                    dotReal += (ar[index] * xr[i]) + (ai[index] * xi[i]);
+                    dotImaginary += (ar[index] * xi[i]) - (ai[index] * xr[i]);
+                }
+                for (int i = k, index = (k * n) + k; i < m; i++, index += n) {
+                    xr[i] -= 2 * ((ar[index] * dotReal) - (ai[index] * dotImaginary));
+                    xi[i] -= 2 * ((ar[index] * dotImaginary) + (ai[index] * dotReal));
+                }
+            }
+            backSubstitute(ar, ai, n, diagonalReal, diagonalImaginary, xr, xi);
+            return ComplexArray.wrap(Arrays.copyOf(xr, n), Arrays.copyOf(xi, n));
+        }
+
+        /**
+         * This method solves A X = B for X, column by column, in the least-squares
+         * sense if A has more rows than columns.
+         * 
+         * @param matrix the right-hand sides B, with as many rows as A.
+         * @return a new complex matrix holding the solutions X.
+         */
+        public ComplexMatrix solve(ComplexMatrix matrix) {
+            return solveColumns(matrix, this::solve);
+        }
+    }
+
+    @FunctionalInterface
+    private static interface RowKernel {
+
+        void apply(int from, int to);
+    }
+
+    private static final class Rows extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int grain;
+
+        private final RowKernel kernel;
+
+        private final int to;
+
+        private Rows(RowKernel kernel, int from, int to, int grain) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                kernel.apply(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Rows(kernel, from, middle, grain), new Rows(kernel, middle, to, grain));
+        }
+    }
+
+    private static final int BLOCK = 64;
+
+    private static final long PARALLEL_THRESHOLD = 1L << 18;
+
+    /**
+     * This static method adds two complex matrices element by element into a
+     * third one. The result matrix may be one of the operands.
+     * 
+     * @param matrix1 the complex matrix.
+     * @param matrix2 the complex matrix to be added.
+     * @param result  the complex matrix receiving the sums.
+     * @return the result matrix.
+     */
+    public static ComplexMatrix add(ComplexMatrix matrix1, ComplexMatrix matrix2, ComplexMatrix result) {
+        checkShape(matrix2, matrix1.rows, matrix1.columns);
+        checkShape(result, matrix1.rows, matrix1.columns);
+        ComplexArray.add(matrix1.elements(), matrix2.elements(), result.elements());
+        return result;
+    }
+
+    /**
+     * This static method returns the identity matrix of the given size.
+     * 
+     * @param size the number of rows and columns.
+     * @return a new complex matrix holding the identity.
+     */
+    public static ComplexMatrix identity(int size) {
+        ComplexMatrix matrix = new ComplexMatrix(size, size);
+        for (int k = 0; k < size; k++) {
+            matrix.real[(k * size) + k] = 1;
+        }
+        return matrix;
+    }
+
+    /**
+     * This static method multiplies two complex matrices into a third one, result
+     * = matrix1 matrix2. The product is computed on blocks of {@value #BLOCK} by
+     * {@value #BLOCK} elements, and its rows are split across the common fork/join
+     * pool when the product takes more than about 2^18 multiply-adds. The result
+     * matrix must not be one of the operands.
+     * 
+     * @param matrix1 the left complex matrix, of size m by p.
+     * @param matrix2 the right complex matrix, of size p by n.
+     * @param result  the complex matrix receiving the product, of size m by n.
+     * @return the result matrix.
+     */
+    public static ComplexMatrix multiply(ComplexMatrix matrix1, ComplexMatrix matrix2, ComplexMatrix result) {
+        int m = matrix1.rows, p = matrix1.columns, n = matrix2.columns;
+        checkShape(matrix2, p, n);
+        checkShape(result, m, n);
+        if (result == matrix1 || result == matrix2) {
+            throw new IllegalArgumentException("The result matrix must not be an operand");
+        }
+        double[] ar = matrix1.real, ai = matrix1.imaginary;
+        double[] br = matrix2.real, bi = matrix2.imaginary;
+        double[] cr = result.real, ci = result.imaginary;
+        Arrays.fill(cr, 0);
+        Arrays.fill(ci, 0);
+        forEachRows(m, (long) m * n * p, (from, to) -> {
+            for (int kk = 0; kk < p; kk += BLOCK) {
+                int kEnd = Math.min(kk + BLOCK, p);
+                for (int jj = 0; jj < n; jj += BLOCK) {
+                    int jEnd = Math.min(jj + BLOCK, n);
+                    for (int i = from; i < to; i++) {
+                        int rowA = i * p, rowC = i * n;
+                        for (int k = kk; k < kEnd; k++) {
+                            double xr = ar[rowA + k], xi = ai[rowA + k];
+                            int rowB = k * n;
+                            for (int j = jj; j < jEnd; j++) {
+                                cr[rowC + j] += (xr * br[rowB + j]) - (xi * bi[rowB + j]);
+                                ci[rowC + j] += (xr * bi[rowB + j]) + (xi * br[rowB + j]);
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * This static method multiplies a complex matrix by a vector, result = matrix
+     * vector. The result array must not be the vector.
+     * 
+     * @param matrix the complex matrix, of size m by n.
+     * @param vector the complex array, of length n.
+     * @param result the complex array receiving the product, of length m.
+     * @return the result array.
+     */
+    public static ComplexArray multiply(ComplexMatrix matrix, ComplexArray vector, ComplexArray result) {
+        int m = matrix.rows, n = matrix.columns;
+        checkLength(vector, n);
+        checkLength(result, m);
+        double[] ar = matrix.real, ai = matrix.imaginary;
+        double[] xr = vector.getRealParts(), xi = vector.getImaginaryParts();
+        double[] yr = result.getRealParts(), yi = result.getImaginaryParts();
+        forEachRows(m, (long) m * n, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double sr = 0, si = 0;
+                for (int j = 0, row = i * n; j < n; j++) {
+                    sr += (ar[row + j] * xr[j]) - (ai[row + j] * xi[j]);
+                    si += (ar[row + j] * xi[j]) + (ai[row + j] * xr[j]);
+                }
+                yr[i] = sr;
+                yi[i] = si;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * This static method returns a complex matrix holding the given elements.
+     * 
+     * @param elements the elements, row by row; all rows have the same length.
+     * @return a new complex matrix.
+     */
+    public static ComplexMatrix of(Complex[][] elements) {
+        int m = elements.length, n = m == 0 ? 0 : elements[0].length;
+        ComplexMatrix matrix = new ComplexMatrix(m, n);
+        for (int i = 0; i < m; i++) {
+            if (elements[i].length != n) {
+                throw new IllegalArgumentException("Length mismatch: " + elements[i].length + " instead of " + n);
+            }
+            for (int j = 0; j < n; j++) {
+                matrix.set(i, j, elements[i][j]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * This static method subtracts two complex matrices element by element into a
+     * third one. The result matrix may be one of the operands.
+     * 
+     * @param matrix1 the complex matrix.
+     * @param matrix2 the complex matrix to be subtracted.
+     * @param result  the complex matrix receiving the differences.
+     * @return the result matrix.
+     */
+    public static ComplexMatrix subtract(ComplexMatrix matrix1, ComplexMatrix matrix2, ComplexMatrix result) {
+        checkShape(matrix2, matrix1.rows, matrix1.columns);
+        checkShape(result, matrix1.rows, matrix1.columns);
+        ComplexArray.subtract(matrix1.elements(), matrix2.elements(), result.elements());
+        return result;
+    }
+
+    /**
+     * This static method returns a complex matrix backed by the given arrays,
+     * which hold the parts in row-major order. The arrays are not copied.
+     * 
+     * @param rows      the number of rows.
+     * @param columns   the number of columns.
+     * @param real      the real parts, of length rows * columns.
+     * @param imaginary the imaginary parts, of length rows * columns.
+     * @return a new complex matrix backed by real and imaginary.
+     */
+    public static ComplexMatrix wrap(int rows, int columns, double[] real, double[] imaginary) {
+        if (real.length != rows * columns || imaginary.length != rows * columns) {
+            throw new IllegalArgumentException("Length mismatch: " + real.length + " and " + imaginary.length
+                                               + " instead of " + (rows * columns));
+        }
+        return new ComplexMatrix(rows, columns, real, imaginary);
+    }
+
+    private static void backSubstitute(double[] ar, double[] ai, int n, double[] diagonalReal,
+                                       double[] diagonalImaginary, double[] xr, double[] xi) {
+        for (int i = n - 1; i >= 0; i--) {
+            double sr = xr[i], si = xi[i];
+            for (int j = i + 1, row = i * n; j < n; j++) {
+                sr -= (ar[row + j] * xr[j]) - (ai[row + j] * xi[j]);
+                si -= (ar[row + j] * xi[j]) + (ai[row + j] * xr[j]);
+            }
+            double dr = diagonalReal == null ? ar[(i * n) + i] : diagonalReal[i];
+            double di = diagonalImaginary == null ? ai[(i * n) + i] : diagonalImaginary[i];
+            Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(dr == 0 && di == 0, "Singular matrix");
+            ComplexAccumulator quotient = new ComplexAccumulator(sr, si).divideInPlace(dr, di);
+            xr[i] = quotient.getRealPart();
+            xi[i] = quotient.getImaginaryPart();
+        }
+    }
+
+    private static void checkLength(ComplexArray array, int length) {
+        if (array.length() != length) {
+            throw new IllegalArgumentException("Length mismatch: " + array.length() + " instead of " + length);
+        }
+    }
+
+    private static void checkShape(ComplexMatrix matrix, int rows, int columns) {
+        if (matrix.rows != rows || matrix.columns != columns) {
+            throw new IllegalArgumentException("Shape mismatch: " + matrix.rows + "x" + matrix.columns + " instead of "
+                                               + rows + "x" + columns);
+        }
+    }
+
+    private static void forEachRows(int rows, long work, RowKernel kernel) {
+        if (work < PARALLEL_THRESHOLD || rows < 2) {
+            kernel.apply(0, rows);
+        } else {
+            int tasks = 4 * ForkJoinPool.getCommonPoolParallelism();
+            ForkJoinPool.commonPool()
+                        .invoke(new Rows(kernel, 0, rows, Math.max(1, rows / tasks)));
+        }
+    }
+
+    private static ComplexMatrix solveColumns(ComplexMatrix matrix, UnaryOperator<ComplexArray> solver) {
+        ComplexMatrix solution = null;
+        ComplexArray column = new ComplexArray(matrix.rows);
+        for (int j = 0; j < matrix.columns; j++) {
+            for (int i = 0; i < matrix.rows; i++) {
+                column.set(i, matrix.real[(i * matrix.columns) + j], matrix.imaginary[(i * matrix.columns) + j]);
+            }
+            ComplexArray x = solver.apply(column);
+            if (solution == null) {
+                solution = new ComplexMatrix(x.length(), matrix.columns);
+            }
+            for (int i = 0; i < x.length(); i++) {
+                solution.set(i, j, x.getRealPart(i), x.getImaginaryPart(i));
+            }
+        }
+        return solution == null ? new ComplexMatrix(matrix.rows, 0) : solution;
+    }
+
+    private final int columns;
+
+    private final double[] imaginary;
+
+    private final double[] real;
+
+    private final int rows;
+
+    /**
+     * This constructor creates a complex matrix of the given size, holding zeros.
+     * 
+     * @param rows    the number of rows.
+     * @param columns the number of columns.
+     */
+    public ComplexMatrix(int rows, int columns) {
+        this(rows, columns, Math.multiplyExact(rows, columns));
+    }
+
+    private ComplexMatrix(int rows, int columns, int size) {
+        this(rows, columns, new double[size], new double[size]);
+    }
+
+    private ComplexMatrix(int rows, int columns, double[] real, double[] imaginary) {
+        this.rows = rows;
+        this.columns = columns;
+        this.real = real;
+        this.imaginary = imaginary;
+    }
+
+    /**
+     * This method adds this complex matrix to another one element by element.
+     * 
+     * @param matrix the complex matrix to be added.
+     * @return a new complex matrix holding the sums.
+     */
+    public ComplexMatrix add(ComplexMatrix matrix) {
+        return add(this, matrix, new ComplexMatrix(rows, columns));
+    }
+
+    /**
+     * This method returns the number of columns of this complex matrix.
+     * 
+     * @return the number of columns.
+     */
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * This method returns a copy of this complex matrix.
+     * 
+     * @return a new complex matrix holding the same elements.
+     */
+    public ComplexMatrix copy() {
+        return new ComplexMatrix(rows, columns, real.clone(), imaginary.clone());
+    }
+
+    /**
+     * This method returns the LU decomposition with partial pivoting of this
+     * square complex matrix, computed in a copy of it.
+     * 
+     * @return the LU decomposition of this matrix.
+     */
+    public LUDecomposition decomposeLU() {
+        return copy().decomposeLUInPlace();
+    }
+
+    /**
+     * This method computes the LU decomposition with partial pivoting of this
+     * square complex matrix in place: this matrix is overwritten by the factors
+     * and backs the returned decomposition. At each step the row whose element in
+     * the pivot column has the largest magnitude is swapped in, and the rows
+     * below are updated in parallel when the trailing matrix is large. An
+     * {@link ArithmeticException} is thrown if the matrix is singular, that is if
+     * a pivot is zero.
+     * 
+     * @return the LU decomposition of this matrix.
+     */
+    public LUDecomposition decomposeLUInPlace() {
+        if (rows != columns) {
+            throw new IllegalArgumentException("Not a square matrix: " + rows + "x" + columns);
+        }
+        int n = rows;
+        int[] pivots = new int[n];
+        for (int i = 0; i < n; i++) {
+            pivots[i] = i;
+        }
+        int sign = 1;
+        double[] ar = real, ai = imaginary;
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            double max = -1;
+            for (int i = k; i < n; i++) {
+                double magnitude = Complex.magnitude(ar[(i * n) + k], ai[(i * n) + k]);
+                if (magnitude > max) {
+                    max = magnitude;
+                    pivot = i;
+                }
+            }
+            Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(max == 0, "Singular matrix");
+            if (pivot != k) {
+                swapRows(pivot, k);
+                int swap = pivots[pivot];
+                pivots[pivot] = pivots[k];
+                pivots[k] = swap;
+                sign = -sign;
+            }
+            ComplexAccumulator inverse = new ComplexAccumulator(1, 0).divideInPlace(ar[(k * n) + k], ai[(k * n) + k]);
+            double pr = inverse.getRealPart(), pi = inverse.getImaginaryPart();
+            int step = k;
+            forEachRows(n - k - 1, (long) (n - k) * (n - k), (from, to) -> {
+                int rowK = step * n;
+                for (int i = step + 1 + from; i < step + 1 + to; i++) {
+                    int row = i * n;
+                    double lr = (ar[row + step] * pr) - (ai[row + step] * pi);
+                    double li = (ar[row + step] * pi) + (ai[row + step] * pr);
+                    ar[row + step] = lr;
+                    ai[row + step] = li;
+                    for (int j = step + 1; j < n; j++) {
+                        ar[row + j] -= (lr * ar[rowK + j]) - (li * ai[rowK + j]);
+                        ai[row + j] -= (lr * ai[rowK + j]) + (li * ar[rowK + j]);
+                    }
+                }
+            });
+        }
+        return new LUDecomposition(this, pivots, sign);
+    }
+
+    /**
+     * This method returns the QR decomposition of this complex matrix, which must
+     * have at least as many rows as columns, computed in a copy of it.
+     * 
+     * @return the QR decomposition of this matrix.
+     */
+    public QRDecomposition decomposeQR() {
+        return copy().decomposeQRInPlace();
+    }
+
+    /**
+     * This method computes the QR decomposition of this complex matrix, which must
+     * have at least as many rows as columns, in place with Householder
+     * reflections: this matrix is overwritten by the unit reflection vectors on
+     * and below the diagonal and by R above it, and backs the returned
+     * decomposition.
+     * 
+     * @return the QR decomposition of this matrix.
+     */
+    public QRDecomposition decomposeQRInPlace() {
+        int m = rows, n = columns;
+        if (m < n) {
+            throw new IllegalArgumentException("More columns than rows: " + rows + "x" + columns);
+        }
+        double[] ar = real, ai = imaginary;
+        double[] diagonalReal = new double[n], diagonalImaginary = new double[n];
+        for (int k = 0; k < n; k++) {
+            double norm = 0;
+            for (int i = k; i < m; i++) {
+                norm = Complex.magnitude(norm, Complex.magnitude(ar[(i * n) + k], ai[(i * n) + k]));
+            }
+            double xr = ar[(k * n) + k], xi = ai[(k * n) + k];
+            double modulus = Complex.magnitude(xr, xi);
+            double phaseReal = modulus == 0 ? 1 : xr / modulus, phaseImaginary = modulus == 0 ? 0 : xi / modulus;
+            diagonalReal[k] = -norm * phaseReal;
+            diagonalImaginary[k] = -norm * phaseImaginary;
+            if (norm == 0) {
+                continue;
+            }
+            ar[(k * n) + k] -= diagonalReal[k];
+            ai[(k * n) + k] -= diagonalImaginary[k];
+            double length = Math.sqrt(2 * norm * (norm + modulus));
+            for (int i = k, index = (k * n) + k; i < m; i++, index += n) {
+                ar[index] /= length;
+                ai[index] /= length;
+            }
+            int column = k;
+            forEachRows(n - k - 1, (long) (m - k) * (n - k), (from, to) -> {
+                for (int j = column + 1 + from; j < column + 1 + to; j++) {
+                    double dotReal = 0, dotImaginary = 0;
+                    for (int i = column, index = column * n; i < m; i++, index += n) {
+                        dotReal += (ar[index + column] * ar[index + j]) + (ai[index + column] * ai[index + j]);
+                        dotImaginary += (ar[index + column] * ai[index + j]) - (ai[index + column] * ar[index + j]);
+                    }
+                    for (int i = column, index = column * n; i < m; i++, index += n) {
+                        ar[index + j] -= 2 * ((ar[index + column] * dotReal) - (ai[index + column] * dotImaginary));
+                        ai[index + j] -= 2 * ((ar[index + column] * dotImaginary) + (ai[index + column] * dotReal));
+                    }
+                }
+            });
+        }
+        return new QRDecomposition(this, diagonalReal, diagonalImaginary);
+    }
+
+    /**
+     * This method returns the element at the given position as a complex number,
+     * with the current rounding policy applied.
+     * 
+     * @param row    the row of the element.
+     * @param column the column of the element.
+     * @return a new Complex object holding the element.
+     */
+    public Complex get(int row, int column) {
+        int index = index(row, column);
+        return new Complex(real[index], imaginary[index]);
+    }
+
+    /**
+     * This method returns the conjugate transpose of this complex matrix.
+     * 
+     * @return a new complex matrix holding the conjugate transpose.
+     */
+    public ComplexMatrix getConjugateTranspose() {
+        ComplexMatrix transpose = new ComplexMatrix(columns, rows);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                transpose.real[(j * rows) + i] = real[(i * columns) + j];
+                transpose.imaginary[(j * rows) + i] = -imaginary[(i * columns) + j];
+            }
+        }
+        return transpose;
+    }
+
+    /**
+     * This method returns the imaginary parts of this complex matrix, in row-major
+     * order. The returned array is the backing array, not a copy.
+     * 
+     * @return the imaginary parts.
+     */
+    public double[] getImaginaryParts() {
+        return imaginary;
+    }
+
+    /**
+     * This method returns the real parts of this complex matrix, in row-major
+     * order. The returned array is the backing array, not a copy.
+     * 
+     * @return the real parts.
+     */
+    public double[] getRealParts() {
+        return real;
+    }
+
+    /**
+     * This method multiplies this complex matrix by a vector.
+     * 
+     * @param vector the complex array, of length columns().
+     * @return a new complex array holding the product.
+     */
+    public ComplexArray multiply(ComplexArray vector) {
+        return multiply(this, vector, new ComplexArray(rows));
+    }
+
+    /**
+     * This method multiplies this complex matrix by another one.
+     * 
+     * @param matrix the complex matrix to multiply by, with columns() rows.
+     * @return a new complex matrix holding the product.
+     */
+    public ComplexMatrix multiply(ComplexMatrix matrix) {
+        return multiply(this, matrix, new ComplexMatrix(rows, matrix.columns));
+    }
+
+    /**
+     * This method returns the number of rows of this complex matrix.
+     * 
+     * @return the number of rows.
+     */
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * This method replaces the element at the given position by a complex number.
+     * 
+     * @param row    the row of the element.
+     * @param column the column of the element.
+     * @param number the new value.
+     */
+    public void set(int row, int column, Complex number) {
+        set(row, column, number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This method replaces the element at the given position by the complex number
+     * real + imaginary i.
+     * 
+     * @param row       the row of the element.
+     * @param column    the column of the element.
+     * @param real      the new real part.
+     * @param imaginary the new imaginary part.
+     */
+    public void set(int row, int column, double real, double imaginary) {
+        int index = index(row, column);
+        this.real[index] = real;
+        this.imaginary[index] = imaginary;
+    }
+
+    /**
+     * This method solves the square linear system this x = b through an LU
+     * decomposition computed in a copy of this matrix. An
+     * {@link ArithmeticException} is thrown if this matrix is singular.
+     * 
+     * @param vector the right-hand side b.
+     * @return a new complex array holding the solution x.
+     */
+    public ComplexArray solve(ComplexArray vector) {
+        return decomposeLU().solve(vector);
+    }
+
+    /**
+     * This method subtracts another complex matrix from this one element by
+     * element.
+     * 
+     * @param matrix the complex matrix to be subtracted.
+     * @return a new complex matrix holding the differences.
+     */
+    public ComplexMatrix subtract(ComplexMatrix matrix) {
+        return subtract(this, matrix, new ComplexMatrix(rows, columns));
+    }
+
+    /**
+     * This method returns a string representation of this complex matrix, one
+     * bracketed row per line.
+     * 
+     * @return a string representation of this matrix.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            builder.append('[');
+            for (int j = 0; j < columns; j++) {
+                if (j > 0) {
+                    builder.append(", ");
+                }
+                ComplexFormat.format(get(i, j), builder);
+            }
+            builder.append("]\n");
+        }
+        return builder.toString();
+    }
+
+    private ComplexArray elements() {
+        return ComplexArray.wrap(real, imaginary);
+    }
+
+    private int index(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Position (" + row + ", " + column + ") out of " + rows + "x" + columns);
+        }
+        return (row * columns) + column;
+    }
+
+    private void swapRows(int row1, int row2) {
+        double[] swap = new double[columns];
+        System.arraycopy(real, row1 * columns, swap, 0, columns);
+        System.arraycopy(real, row2 * columns, real, row1 * columns, columns);
+        System.arraycopy(swap, 0, real, row2 * columns, columns);
+        System.arraycopy(imaginary, row1 * columns, swap, 0, columns);
+        System.arraycopy(imaginary, row2 * columns, imaginary, row1 * columns, columns);
+        System.arraycopy(swap, 0, imaginary, row2 * columns, columns);
+    }
+
+}
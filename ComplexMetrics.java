@@ -0,0 +1,323 @@
+package edev.complex;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This interface is the instrumentation hook of {@link Complex}. It receives a
+ * call for every operation, allocation and exception of the class, so that a
+ * workload can be profiled without a profiler: which operations dominate, how
+ * many complex numbers each request allocates, how often a division hits the
+ * zero check and how large the lists returned by {@code nthRoots} are.<br/>
+ * Instrumentation is off by default and then costs nothing: every hook is
+ * guarded by a static final flag, read once from the system property
+ * {@value #PROPERTY}, which the JIT compiler folds away. Start the JVM with
+ * {@code -Dedev.complex.metrics=true} to turn it on; the metrics are then sent
+ * to the first implementation registered under
+ * {@code META-INF/services/edev.complex.ComplexMetrics}, or to the one passed to
+ * {@link Complex#setMetrics(ComplexMetrics)}. {@link Recorder} is a ready-made
+ * implementation that keeps counters and histograms in memory.<br/>
+ * Every operation listed in {@link Operation} is counted. Accessors such as
+ * {@code getConjugate}, {@code getArgument} and {@code getMagnitude} are not.
+ * Durations are only measured for the operations whose cost depends on their
+ * arguments ({@code power}, {@code powers}, {@code nthRoots} and
+ * {@code parse}), the others taking less time than the resolution of
+ * {@link System#nanoTime()}, and only for one call out of N, where N is set by
+ * the system property {@value #SAMPLING_PROPERTY} (1024 by default).
+ * Implementations are called from any thread, concurrently, and must be
+ * thread-safe; every method does nothing by default.
+ * 
+ * @author Ezeqèl
+ */
+public interface ComplexMetrics {
+
+    /**
+     * This enumeration lists the operations of {@link Complex} reported to the
+     * metrics. The overloads of an operation share the same constant.
+     */
+    enum Operation {
+        ADD, COS, COSH, DIVIDE, EXP, INVERSE, LOG, MULTIPLY, NTH_ROOTS, PARSE, POWER, POWERS, SIN, SINH, SQRT,
+        SQUARE_ROOT, SUBTRACT, TAN, TANH
+    }
+
+    /**
+     * This class is a thread-safe implementation that keeps the metrics in
+     * memory: a counter per operation, the number of allocations, the number of
+     * exceptions per message, and histograms of the durations and of the result
+     * sizes per operation. The histograms have 64 buckets: bucket 0 counts the
+     * value 0 and bucket k the values between 2^(k-1) and 2^k - 1. Counters are
+     * {@link LongAdder}s, so recording does not contend between threads.
+     */
+    final class Recorder implements ComplexMetrics {
+
+        private static final int BUCKETS = 64;
+
+        private static final Operation[] OPERATIONS = Operation.values();
+
+        private static int bucket(long value) {
+            return BUCKETS - Long.numberOfLeadingZeros(value);
+        }
+
+        private static long upperBound(int bucket) {
+            return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+
+        private final LongAdder allocations = new LongAdder();
+
+        private final LongAdder[] counts = new LongAdder[OPERATIONS.length];
+
+        private final Map<String, LongAdder> exceptions = new ConcurrentHashMap<>();
+
+        private final AtomicLongArray latencies = new AtomicLongArray(OPERATIONS.length * BUCKETS);
+
+        private final AtomicLongArray sizes = new AtomicLongArray(OPERATIONS.length * BUCKETS);
+
+        public Recorder() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * This method returns the number of complex numbers constructed since this
+         * recorder was created or reset.
+         * 
+         * @return the number of allocations.
+         */
+        public long getAllocations() {
+            return allocations.sum();
+        }
+
+        /**
+         * This method returns the number of calls to an operation.
+         * 
+         * @param operation the operation.
+         * @return the number of calls to operation.
+         */
+        public long getCount(Operation operation) {
+            return counts[operation.ordinal()].sum();
+        }
+
+        /**
+         * This method returns the number of exceptions thrown, keyed by their
+         * message, such as "Division by zero", in alphabetical order.
+         * 
+         * @return a snapshot of the number of exceptions per message.
+         */
+        public Map<String, Long> getExceptions() {
+            Map<String, Long> snapshot = new TreeMap<>();
+            exceptions.forEach((message, count) -> snapshot.put(message, count.sum()));
+            return snapshot;
+        }
+
+        /**
+         * This method returns the histogram of the sampled durations of an
+         * operation, in nanoseconds.
+         * 
+         * @param operation the operation.
+         * @return a snapshot of the 64 buckets of the histogram.
+         */
+        public long[] getLatencyHistogram(Operation operation) {
+            return histogram(latencies, operation);
+        }
+
+        /**
+         * This method returns an upper bound of a percentile of the sampled
+         * durations of an operation, in nanoseconds: the upper bound of the bucket
+         * holding it, which is at most twice the exact percentile.
+         * 
+         * @param operation  the operation.
+         * @param percentile the percentile, between 0 and 100.
+         * @return an upper bound of the percentile, or 0 if no call was sampled.
+         */
+        public long getLatencyPercentile(Operation operation, double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+            }
+            long[] histogram = getLatencyHistogram(operation);
+            long total = 0;
+            for (long count : histogram) {
+                total += count;
+            }
+            long rank = (long) Math.ceil((percentile / 100) * total);
+            long seen = 0;
+            for (int k = 0; k < BUCKETS; k++) {
+                seen += histogram[k];
+                if (seen >= rank && seen > 0) {
+                    return upperBound(k);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * This method returns the histogram of the sizes of the results of an
+         * operation, such as the number of roots returned by {@code nthRoots}.
+         * 
+         * @param operation the operation.
+         * @return a snapshot of the 64 buckets of the histogram.
+         */
+        public long[] getResultSizeHistogram(Operation operation) {
+            return histogram(sizes, operation);
+        }
+
+        @Override
+        public void onAllocation() {
+            allocations.increment();
+        }
+
+        @Override
+        public void onException(RuntimeException exception) {
+            exceptions.computeIfAbsent(String.valueOf(exception.getMessage()), message -> new LongAdder())
+                      .increment();
+        }
+
+        @Override
+        public void onLatency(Operation operation, long nanos) {
+            latencies.incrementAndGet((operation.ordinal() * BUCKETS) + bucket(Math.max(nanos, 0)));
+        }
+
+        @Override
+        public void onOperation(Operation operation) {
+            counts[operation.ordinal()].increment();
+        }
+
+        @Override
+        public void onResultSize(Operation operation, int size) {
+            sizes.incrementAndGet((operation.ordinal() * BUCKETS) + bucket(size));
+        }
+
+        /**
+         * This method clears every counter and histogram. Calls recorded
+         * concurrently may be partly kept.
+         */
+        public void reset() {
+            allocations.reset();
+            for (LongAdder count : counts) {
+                count.reset();
+            }
+            exceptions.clear();
+            for (int i = 0; i < latencies.length(); i++) {
+                latencies.set(i, 0);
+                sizes.set(i, 0);
+            }
+        }
+
+        /**
+         * This method returns a report of the recorded metrics, one line per
+         * operation called at least once, with its count and, when some calls were
+         * sampled, the upper bounds of the median and 99th percentile of its
+         * duration.
+         * 
+         * @return a multi-line report.
+         */
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append("allocations=")
+                  .append(getAllocations())
+                  .append(", exceptions=")
+                  .append(getExceptions())
+                  .append('\n');
+            for (Operation operation : OPERATIONS) {
+                long count = getCount(operation);
+                if (count == 0) {
+                    continue;
+                }
+                report.append(operation)
+                      .append(": count=")
+                      .append(count);
+                long median = getLatencyPercentile(operation, 50);
+                if (median > 0) {
+                    report.append(", p50<=")
+                          .append(median)
+                          .append("ns, p99<=")
+                          .append(getLatencyPercentile(operation, 99))
+                          .append("ns");
+                }
+                report.append('\n');
+            }
+            return report.toString();
+        }
+
+        private long[] histogram(AtomicLongArray histograms, Operation operation) {
+            long[] histogram = new long[BUCKETS];
+            int offset = operation.ordinal() * BUCKETS;
+            for (int k = 0; k < BUCKETS; k++) {
+                histogram[k] = histograms.get(offset + k);
+            }
+            return histogram;
+        }
+    }
+
+    /**
+     * The implementation that ignores every metric.
+     */
+    static final ComplexMetrics NONE = new ComplexMetrics() {
+    };
+
+    /**
+     * The system property turning instrumentation on when set to true.
+     */
+    static final String PROPERTY = "edev.complex.metrics";
+
+    /**
+     * The system property holding the sampling rate of durations: one call out of
+     * its value is timed.
+     */
+    static final String SAMPLING_PROPERTY = "edev.complex.metrics.sampling";
+
+    /**
+     * This static method returns whether instrumentation was turned on by the
+     * system property {@value #PROPERTY} when {@link Complex} was loaded.
+     * 
+     * @return true if metrics are reported, and false otherwise.
+     */
+    static boolean isEnabled() {
+        return Complex.metricsEnabled();
+    }
+
+    /**
+     * This method is called whenever a complex number is constructed.
+     */
+    default void onAllocation() {
+    }
+
+    /**
+     * This method is called before an exception is thrown by an operation.
+     * 
+     * @param exception the exception about to be thrown.
+     */
+    default void onException(RuntimeException exception) {
+    }
+
+    /**
+     * This method is called with the duration of a sampled call to an operation.
+     * 
+     * @param operation the operation.
+     * @param nanos     the duration of the call, in nanoseconds.
+     */
+    default void onLatency(Operation operation, long nanos) {
+    }
+
+    /**
+     * This method is called whenever an operation is called.
+     * 
+     * @param operation the operation.
+     */
+    default void onOperation(Operation operation) {
+    }
+
+    /**
+     * This method is called with the number of values returned by an operation
+     * returning several, such as {@code nthRoots} or {@code powers}.
+     * 
+     * @param operation the operation.
+     * @param size      the number of values returned.
+     */
+    default void onResultSize(Operation operation, int size) {
+    }
+}
@@ -0,0 +1,121 @@
+package edev.complex;
+
+/**
+ * This interface represents the arithmetic shared by the complex number types
+ * of this package, so that an algorithm can be written once and run at the
+ * precision a workload needs: {@link Complex} holds doubles rounded by its
+ * rounding policy, {@link ComplexFloat} holds floats in half the memory and
+ * {@link BigComplex} holds {@link java.math.BigDecimal}s rounded to a chosen
+ * number of digits. The type parameter is the implementing type itself, so
+ * operations take and return numbers of the same precision.<br/>
+ * Generic code creates its constants through a {@link Factory}, such as
+ * {@code Complex::valueOf}, {@code ComplexFloat::valueOf} or
+ * {@code BigComplex::valueOf}.<br/>
+ * Implementations are immutable.
+ * 
+ * @param <T> the implementing type.
+ * @author Ezeqèl
+ */
+public interface ComplexNumber<T extends ComplexNumber<T>> {
+
+    /**
+     * This interface creates complex numbers of one type from their parts.
+     * 
+     * @param <T> the type of the complex numbers created.
+     */
+    @FunctionalInterface
+    interface Factory<T extends ComplexNumber<T>> {
+
+        /**
+         * This method returns the complex number real + imaginary i, at the
+         * precision of the type created.
+         * 
+         * @param real      the real part.
+         * @param imaginary the imaginary part.
+         * @return a complex number with these parts.
+         */
+        T valueOf(double real, double imaginary);
+    }
+
+    /**
+     * This method adds this complex number to another one.
+     * 
+     * @param number the complex number to be added.
+     * @return the sum of this number and number.
+     */
+    T add(T number);
+
+    /**
+     * This method divides this complex number by another one. An
+     * {@link ArithmeticException} is thrown if number is equal to zero.
+     * 
+     * @param number the complex number to divide by.
+     * @return the quotient of this number and number.
+     */
+    T divide(T number);
+
+    /**
+     * This method returns the conjugate of this complex number.
+     * 
+     * @return the conjugate of this number.
+     */
+    T getConjugate();
+
+    /**
+     * This method returns the imaginary part of this complex number, as the
+     * nearest double.
+     * 
+     * @return the imaginary part.
+     */
+    double getImaginaryPart();
+
+    /**
+     * This method returns the magnitude of this complex number, as the nearest
+     * double.
+     * 
+     * @return the magnitude.
+     */
+    double getMagnitude();
+
+    /**
+     * This method returns the real part of this complex number, as the nearest
+     * double.
+     * 
+     * @return the real part.
+     */
+    double getRealPart();
+
+    /**
+     * This method returns the inverse of this complex number. An
+     * {@link ArithmeticException} is thrown if this number is equal to zero.
+     * 
+     * @return the inverse of this number.
+     */
+    T inverse();
+
+    /**
+     * This method multiplies this complex number by another one.
+     * 
+     * @param number the complex number to multiply by.
+     * @return the product of this number and number.
+     */
+    T multiply(T number);
+
+    /**
+     * This method raises this complex number to an integer power. An
+     * {@link ArithmeticException} is thrown if exponent is negative and this
+     * number is equal to zero.
+     * 
+     * @param exponent the integer power.
+     * @return this number raised to exponent.
+     */
+    T power(int exponent);
+
+    /**
+     * This method subtracts another complex number from this one.
+     * 
+     * @param number the complex number to be subtracted.
+     * @return the difference of this number and number.
+     */
+    T subtract(T number);
+}
@@ -0,0 +1,497 @@
+package edev.complex;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class represents a polynomial with complex coefficients, c0 + c1 z + c2
+ * z^2 + ... + cn z^n. The coefficients are kept in two primitive arrays, in
+ * ascending order of degree, exactly as given: the rounding policy of
+ * {@link Complex} is only applied to the Complex objects returned.<br/>
+ * Evaluation uses Horner's scheme, one multiply-add per coefficient, either
+ * into a {@link ComplexAccumulator} without allocating or over a whole
+ * {@link ComplexArray} of points at once. Products of high degree go through
+ * {@link FourierTransform}. {@link #roots()} finds all the roots together with
+ * the Aberth method, spreading each iteration across cores for high degrees.<br/>
+ * A complex polynomial is immutable and can be shared between threads.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexPolynomial {
+
+    private static final class Corrections extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final ComplexPolynomial polynomial;
+
+        private final double[] real;
+
+        private final double[] imaginary;
+
+        private final double[] correctionReal;
+
+        private final double[] correctionImaginary;
+
+        private final int to;
+
+        private Corrections(ComplexPolynomial polynomial, double[] real, double[] imaginary, double[] correctionReal,
+                            double[] correctionImaginary, int from, int to) {
+            this.polynomial = polynomial;
+            this.real = real;
+            this.imaginary = imaginary;
+            this.correctionReal = correctionReal;
+            this.correctionImaginary = correctionImaginary;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD / 4) {
+                for (int i = from; i < to; i++) {
+                    polynomial.correction(real, imaginary, i, correctionReal, correctionImaginary);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Corrections(polynomial, real, imaginary, correctionReal, correctionImaginary, from, middle),
+                      new Corrections(polynomial, real, imaginary, correctionReal, correctionImaginary, middle, to));
+        }
+    }
+
+    /**
+     * The lowest degree of both factors from which {@link #multiply} goes through
+     * {@link FourierTransform} instead of the schoolbook product.
+     */
+    public static final int FFT_THRESHOLD = 64;
+
+    /**
+     * The maximum number of iterations of {@link #roots()}.
+     */
+    public static final int MAX_ITERATIONS = 500;
+
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    /**
+     * This static method returns the monic polynomial whose roots are the elements
+     * of a complex array, (z - r0)(z - r1)...(z - rn-1).
+     * 
+     * @param roots the roots.
+     * @return a new polynomial of degree roots.length().
+     */
+    public static ComplexPolynomial fromRoots(ComplexArray roots) {
+        int n = roots.length();
+        double[] real = new double[n + 1], imaginary = new double[n + 1];
+        real[0] = 1;
+        double[] rr = roots.getRealParts(), ri = roots.getImaginaryParts();
+        for (int k = 0; k < n; k++) {
+            real[k + 1] = real[k];
+            imaginary[k + 1] = imaginary[k];
+            for (int j = k; j > 0; j--) {
+                double re = real[j - 1] - ((rr[k] * real[j]) - (ri[k] * imaginary[j]));
+                imaginary[j] = imaginary[j - 1] - ((rr[k] * imaginary[j]) + (ri[k] * real[j]));
+                real[j] = re;
+            }
+            double re = -((rr[k] * real[0]) - (ri[k] * imaginary[0]));
+            imaginary[0] = -((rr[k] * imaginary[0]) + (ri[k] * real[0]));
+            real[0] = re;
+        }
+        return new ComplexPolynomial(real, imaginary, n);
+    }
+
+    /**
+     * This static method returns the polynomial with the given coefficients, in
+     * ascending order of degree.
+     * 
+     * @param coefficients the coefficients, c0 first.
+     * @return a new polynomial.
+     */
+    public static ComplexPolynomial of(Complex... coefficients) {
+        ComplexArray array = ComplexArray.of(coefficients);
+        return new ComplexPolynomial(array.getRealParts(), array.getImaginaryParts());
+    }
+
+    private final int degree;
+
+    private final double[] imaginary;
+
+    private final double[] real;
+
+    /**
+     * This constructor creates a polynomial from the real and imaginary parts of
+     * its coefficients, in ascending order of degree. The arrays are copied, and
+     * trailing zero coefficients are dropped, so that the leading coefficient is
+     * nonzero unless the polynomial is the zero polynomial.
+     * 
+     * @param real      the real parts of the coefficients, c0 first.
+     * @param imaginary the imaginary parts of the coefficients, of the same length.
+     */
+    public ComplexPolynomial(double[] real, double[] imaginary) {
+        if (real.length != imaginary.length) {
+            throw new IllegalArgumentException("Length mismatch: " + imaginary.length + " instead of " + real.length);
+        }
+        int degree = real.length - 1;
+        while (degree > 0 && real[degree] == 0 && imaginary[degree] == 0) {
+            degree--;
+        }
+        this.degree = Math.max(degree, 0);
+        this.real = Arrays.copyOf(real, this.degree + 1);
+        this.imaginary = Arrays.copyOf(imaginary, this.degree + 1);
+    }
+
+    private ComplexPolynomial(double[] real, double[] imaginary, int degree) {
+        this.real = real;
+        this.imaginary = imaginary;
+        this.degree = degree;
+    }
+
+    /**
+     * This method adds another polynomial to this one.
+     * 
+     * @param polynomial the polynomial to be added.
+     * @return a new polynomial that is the sum of this polynomial and polynomial.
+     */
+    public ComplexPolynomial add(ComplexPolynomial polynomial) {
+        int n = Math.max(real.length, polynomial.real.length);
+        double[] re = Arrays.copyOf(real, n), im = Arrays.copyOf(imaginary, n);
+        for (int k = 0; k < polynomial.real.length; k++) {
+            re[k] += polynomial.real[k];
+            im[k] += polynomial.imaginary[k];
+        }
+        return new ComplexPolynomial(re, im);
+    }
+
+    /**
+     * This method returns the degree of this polynomial, the power of its leading
+     * coefficient. The degree of a constant polynomial, including the zero
+     * polynomial, is 0.
+     * 
+     * @return the degree of this polynomial.
+     */
+    public int degree() {
+        return degree;
+    }
+
+    /**
+     * This method returns the derivative of this polynomial.
+     * 
+     * @return a new polynomial that is the derivative of this polynomial.
+     */
+    public ComplexPolynomial derivative() {
+        double[] re = new double[Math.max(degree, 1)], im = new double[Math.max(degree, 1)];
+        for (int k = 1; k <= degree; k++) {
+            re[k - 1] = k * real[k];
+            im[k - 1] = k * imaginary[k];
+        }
+        return new ComplexPolynomial(re, im);
+    }
+
+    /**
+     * This method evaluates this polynomial at a complex number.
+     * 
+     * @param number the point of evaluation.
+     * @return a new Complex object holding the value of this polynomial at number.
+     */
+    public Complex evaluate(Complex number) {
+        return evaluate(number.getRealPart(), number.getImaginaryPart(), new ComplexAccumulator()).toComplex();
+    }
+
+    /**
+     * This method evaluates this polynomial at every element of a complex array.
+     * 
+     * @param points the points of evaluation.
+     * @return a new complex array holding the values of this polynomial.
+     */
+    public ComplexArray evaluate(ComplexArray points) {
+        return evaluate(points, new ComplexArray(points.length()));
+    }
+
+    /**
+     * This method evaluates this polynomial at every element of a complex array,
+     * into another one. The loop over the points is innermost, so that each step
+     * of Horner's scheme is one pass over primitive arrays. The result array may
+     * be the points array.
+     * 
+     * @param points the points of evaluation.
+     * @param result the complex array receiving the values, of the same length.
+     * @return the result array.
+     */
+    public ComplexArray evaluate(ComplexArray points, ComplexArray result) {
+        int n = points.length();
+        if (result.length() != n) {
+            throw new IllegalArgumentException("Length mismatch: " + result.length() + " instead of " + n);
+        }
+        double[] pr = points.getRealParts(), pi = points.getImaginaryParts();
+        double[] rr = result.getRealParts(), ri = result.getImaginaryParts();
+        if (pr == rr) {
+            pr = pr.clone();
+            pi = pi.clone();
+        }
+        Arrays.fill(rr, real[degree]);
+        Arrays.fill(ri, imaginary[degree]);
+        for (int k = degree - 1; k >= 0; k--) {
+            double cr = real[k], ci = imaginary[k];
+            for (int i = 0; i < n; i++) {
+                double re = ((rr[i] * pr[i]) - (ri[i] * pi[i])) + cr;
+                ri[i] = ((rr[i] * pi[i]) + (ri[i] * pr[i])) + ci;
+                rr[i] = re;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This method evaluates this polynomial at the complex number real +
+     * imaginary i into an accumulator, without allocating.
+     * 
+     * @param real      the real part of the point of evaluation.
+     * @param imaginary the imaginary part of the point of evaluation.
+     * @param result    the accumulator receiving the value.
+     * @return the result accumulator.
+     */
+    public ComplexAccumulator evaluate(double real, double imaginary, ComplexAccumulator result) {
+        double re = this.real[degree], im = this.imaginary[degree];
+        for (int k = degree - 1; k >= 0; k--) {
+            double product = ((re * real) - (im * imaginary)) + this.real[k];
+            im = ((re * imaginary) + (im * real)) + this.imaginary[k];
+            re = product;
+        }
+        return result.set(re, im);
+    }
+
+    /**
+     * This method returns the coefficient of the given power of z.
+     * 
+     * @param power the power, between 0 and {@link #degree()}.
+     * @return a new Complex object holding the coefficient.
+     */
+    public Complex getCoefficient(int power) {
+        return new Complex(real[power], imaginary[power]);
+    }
+
+    /**
+     * This method returns the coefficients of this polynomial, in ascending order
+     * of degree.
+     * 
+     * @return a new complex array holding the degree() + 1 coefficients.
+     */
+    public ComplexArray getCoefficients() {
+        return ComplexArray.wrap(real.clone(), imaginary.clone());
+    }
+
+    /**
+     * This method multiplies this polynomial by another one. When both have a
+     * degree of at least {@value #FFT_THRESHOLD}, the product is computed in O(n
+     * log n) as a convolution through {@link FourierTransform}; the coefficients
+     * are then exact up to a rounding error relative to the largest one.
+     * Otherwise the schoolbook product is used.
+     * 
+     * @param polynomial the polynomial to multiply by.
+     * @return a new polynomial that is the product of this polynomial and
+     *         polynomial.
+     */
+    public ComplexPolynomial multiply(ComplexPolynomial polynomial) {
+        int length = degree + polynomial.degree + 1;
+        if (Math.min(degree, polynomial.degree) < FFT_THRESHOLD) {
+            double[] re = new double[length], im = new double[length];
+            for (int i = 0; i <= degree; i++) {
+                for (int j = 0; j <= polynomial.degree; j++) {
+                    re[i + j] += (real[i] * polynomial.real[j]) - (imaginary[i] * polynomial.imaginary[j]);
+                    im[i + j] += (real[i] * polynomial.imaginary[j]) + (imaginary[i] * polynomial.real[j]);
+                }
+            }
+            return new ComplexPolynomial(re, im);
+        }
+        int size = Integer.highestOneBit(length - 1) << 1;
+        double[] ar = Arrays.copyOf(real, size), ai = Arrays.copyOf(imaginary, size);
+        double[] br = Arrays.copyOf(polynomial.real, size), bi = Arrays.copyOf(polynomial.imaginary, size);
+        FourierTransform.forward(ar, ai);
+        FourierTransform.forward(br, bi);
+        for (int k = 0; k < size; k++) {
+            double re = (ar[k] * br[k]) - (ai[k] * bi[k]);
+            ai[k] = (ar[k] * bi[k]) + (ai[k] * br[k]);
+            ar[k] = re;
+        }
+        FourierTransform.inverse(ar, ai);
+        return new ComplexPolynomial(Arrays.copyOf(ar, length), Arrays.copyOf(ai, length));
+    }
+
+    /**
+     * This method returns all the roots of this polynomial, repeated according to
+     * their multiplicity, with the Aberth method. The initial guesses are the
+     * {@link Complex#nthRoots(int, double[], double[]) nth roots} of a unit number,
+     * scaled to the geometric mean of their magnitudes and centred on their mean.
+     * Estimates outside the unit circle are refined through the reversed
+     * polynomial, so that high degrees do not overflow. Every iteration computes
+     * the corrections of all the roots from the previous estimates, in parallel
+     * on the common fork/join pool when the degree is at least 256, and the
+     * iterations stop when every correction is negligible or after
+     * {@value #MAX_ITERATIONS} of them. Convergence is cubic for simple roots and
+     * linear for multiple ones, which are therefore less accurate. An
+     * {@link ArithmeticException} is thrown if this is the zero polynomial.
+     * 
+     * @return a new complex array holding the degree() roots.
+     */
+    public ComplexArray roots() {
+        Complex.ExceptionHandler.DIVISION_BY_ZERO.handle(degree == 0 && real[0] == 0 && imaginary[0] == 0,
+                                                         "Division by zero");
+        int n = degree;
+        double[] re = new double[n], im = new double[n];
+        if (n == 0) {
+            return ComplexArray.wrap(re, im);
+        }
+        double leading = (real[n] * real[n]) + (imaginary[n] * imaginary[n]);
+        double centerReal = -((real[n - 1] * real[n]) + (imaginary[n - 1] * imaginary[n])) / (n * leading);
+        double centerImaginary = -((imaginary[n - 1] * real[n]) - (real[n - 1] * imaginary[n])) / (n * leading);
+        double radius = Math.pow(Math.sqrt(((real[0] * real[0]) + (imaginary[0] * imaginary[0])) / leading), 1.0 / n);
+        for (int k = 1; k < n && radius == 0; k++) {
+            double ratio = Math.sqrt(((real[k] * real[k]) + (imaginary[k] * imaginary[k])) / leading);
+            radius = Math.max(radius, Math.pow(ratio, 1.0 / (n - k)));
+        }
+        radius = Math.max(radius, Double.MIN_NORMAL);
+        Complex.fromPolar(1, 0.4 * n)
+               .nthRoots(n, re, im);
+        for (int i = 0; i < n; i++) {
+            re[i] = centerReal + (radius * re[i]);
+            im[i] = centerImaginary + (radius * im[i]);
+        }
+        double[] correctionReal = new double[n], correctionImaginary = new double[n];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            if (n >= PARALLEL_THRESHOLD) {
+                ForkJoinPool.commonPool()
+                            .invoke(new Corrections(this, re, im, correctionReal, correctionImaginary, 0, n));
+            } else {
+                for (int i = 0; i < n; i++) {
+                    correction(re, im, i, correctionReal, correctionImaginary);
+                }
+            }
+            boolean converged = true;
+            for (int i = 0; i < n; i++) {
+                double step = Complex.magnitude(correctionReal[i], correctionImaginary[i]);
+                converged &= step <= 0x1p-50 * Complex.magnitude(re[i], im[i]) || step == 0;
+                re[i] -= correctionReal[i];
+                im[i] -= correctionImaginary[i];
+            }
+            if (converged) {
+                break;
+            }
+        }
+        return ComplexArray.wrap(re, im);
+    }
+
+    /**
+     * This method subtracts another polynomial from this one.
+     * 
+     * @param polynomial the polynomial to be subtracted.
+     * @return a new polynomial that is the difference of this polynomial and
+     *         polynomial.
+     */
+    public ComplexPolynomial subtract(ComplexPolynomial polynomial) {
+        int n = Math.max(real.length, polynomial.real.length);
+        double[] re = Arrays.copyOf(real, n), im = Arrays.copyOf(imaginary, n);
+        for (int k = 0; k < polynomial.real.length; k++) {
+            re[k] -= polynomial.real[k];
+            im[k] -= polynomial.imaginary[k];
+        }
+        return new ComplexPolynomial(re, im);
+    }
+
+    /**
+     * This method returns a string representation of this polynomial, such as
+     * "1.0+2.0i + (3.0)z + (-i)z^2", with the coefficients in ascending order of
+     * degree and in the external form of {@link Complex}. Zero coefficients are
+     * skipped.
+     * 
+     * @return a string representation of this polynomial.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int k = 0; k <= degree; k++) {
+            if (real[k] == 0 && imaginary[k] == 0 && (k > 0 || degree > 0)) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(" + ");
+            }
+            if (k == 0) {
+                ComplexFormat.format(getCoefficient(k), builder);
+                continue;
+            }
+            builder.append('(');
+            ComplexFormat.format(getCoefficient(k), builder)
+                         .append(")z");
+            if (k > 1) {
+                builder.append('^')
+                       .append(k);
+            }
+        }
+        return builder.length() == 0 ? "0" : builder.toString();
+    }
+
+    private void correction(double[] re, double[] im, int i, double[] correctionReal, double[] correctionImaginary) {
+        double x = re[i], y = im[i];
+        double numeratorReal, numeratorImaginary, denominatorReal, denominatorImaginary;
+        double square = (x * x) + (y * y);
+        if (square <= 1) {
+            numeratorReal = real[degree];
+            numeratorImaginary = imaginary[degree];
+            denominatorReal = 0;
+            denominatorImaginary = 0;
+            for (int k = degree - 1; k >= 0; k--) {
+                double derivative = ((denominatorReal * x) - (denominatorImaginary * y)) + numeratorReal;
+                denominatorImaginary = ((denominatorReal * y) + (denominatorImaginary * x)) + numeratorImaginary;
+                denominatorReal = derivative;
+                double value = ((numeratorReal * x) - (numeratorImaginary * y)) + real[k];
+                numeratorImaginary = ((numeratorReal * y) + (numeratorImaginary * x)) + imaginary[k];
+                numeratorReal = value;
+            }
+        } else {
+            // p(z) / p'(z) = z q(w) / (n q(w) - w q'(w)), q being the reversed
+            // polynomial and w = 1 / z, so that large roots do not overflow
+            double u = x / square, v = -y / square;
+            double qr = real[0], qi = imaginary[0];
+            double sr = 0, si = 0;
+            for (int k = 1; k <= degree; k++) {
+                double derivative = ((sr * u) - (si * v)) + qr;
+                si = ((sr * v) + (si * u)) + qi;
+                sr = derivative;
+                double value = ((qr * u) - (qi * v)) + real[k];
+                qi = ((qr * v) + (qi * u)) + imaginary[k];
+                qr = value;
+            }
+            numeratorReal = (x * qr) - (y * qi);
+            numeratorImaginary = (x * qi) + (y * qr);
+            denominatorReal = (degree * qr) - ((u * sr) - (v * si));
+            denominatorImaginary = (degree * qi) - ((u * si) + (v * sr));
+        }
+        if (numeratorReal == 0 && numeratorImaginary == 0) {
+            correctionReal[i] = 0;
+            correctionImaginary[i] = 0;
+            return;
+        }
+        double denominator = (denominatorReal * denominatorReal) + (denominatorImaginary * denominatorImaginary);
+        double ratioReal = ((numeratorReal * denominatorReal) + (numeratorImaginary * denominatorImaginary)) / denominator;
+        double ratioImaginary = ((numeratorImaginary * denominatorReal) - (numeratorReal * denominatorImaginary))
+                                / denominator;
+        double sumReal = 0, sumImaginary = 0;
+        for (int j = 0; j < re.length; j++) {
+            if (j != i) {
+                double ar = x - re[j], ai = y - im[j];
+                double distance = (ar * ar) + (ai * ai);
+                sumReal += ar / distance;
+                sumImaginary -= ai / distance;
+            }
+        }
+        double br = 1 - ((ratioReal * sumReal) - (ratioImaginary * sumImaginary));
+        double bi = -((ratioReal * sumImaginary) + (ratioImaginary * sumReal));
+        double divisor = (br * br) + (bi * bi);
+        correctionReal[i] = ((ratioReal * br) + (ratioImaginary * bi)) / divisor;
+        correctionImaginary[i] = ((ratioImaginary * br) - (ratioReal * bi)) / divisor;
+    }
+
+}
@@ -0,0 +1,305 @@
+package edev.complex;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class reduces large sets of complex numbers (sums, products, dot
+ * products, norms, maximum magnitude) across all cores. The work is split with
+ * fork/join over the primitive arrays of a {@link ComplexArray}; each leaf
+ * reduces its slice into primitive accumulators and the partial results are
+ * combined pairwise. Sums use Neumaier's compensated summation, so the result
+ * does not depend on the number of slices and stays accurate when terms of
+ * very different magnitudes cancel.<br/>
+ * Collections are copied into a {@link ComplexArray} first; callers reducing
+ * the same data repeatedly should keep it in one.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexReductions {
+
+    @FunctionalInterface
+    private static interface Combiner {
+
+        void combine(Partial partial, Partial other);
+    }
+
+    @FunctionalInterface
+    private static interface Leaf {
+
+        void reduce(Partial partial, int from, int to);
+    }
+
+    private static final class Partial {
+
+        private int exponent = MIN_EXPONENT;
+
+        private double imaginary;
+
+        private double imaginaryCompensation;
+
+        private int index = -1;
+
+        private double max = -1;
+
+        private double real;
+
+        private double realCompensation;
+
+        private Partial(double real) {
+            this.real = real;
+        }
+
+        private static double compensation(double sum, double value, double total) {
+            return Math.abs(sum) >= Math.abs(value) ? (sum - total) + value : (value - total) + sum;
+        }
+
+        private void add(double realValue, double imaginaryValue) {
+            double total = real + realValue;
+            if (Double.isFinite(total)) {
+                realCompensation += compensation(real, realValue, total);
+            }
+            real = total;
+            total = imaginary + imaginaryValue;
+            if (Double.isFinite(total)) {
+                imaginaryCompensation += compensation(imaginary, imaginaryValue, total);
+            }
+            imaginary = total;
+        }
+
+        private void addAll(Partial other) {
+            add(other.real, other.imaginary);
+            realCompensation += other.realCompensation;
+            imaginaryCompensation += other.imaginaryCompensation;
+        }
+
+        private void addSquares(double realValue, double imaginaryValue) {
+            double max = Math.max(Math.abs(realValue), Math.abs(imaginaryValue));
+            if (max >= Math.scalb(1.0, exponent)) {
+                rescale(Math.getExponent(max) + 1);
+            }
+            double x = Math.scalb(realValue, -exponent);
+            double y = Math.scalb(imaginaryValue, -exponent);
+            add((x * x) + (y * y), 0);
+        }
+
+        private void addSquaresAll(Partial other) {
+            if (other.exponent > exponent) {
+                rescale(other.exponent);
+            } else {
+                other.rescale(exponent);
+            }
+            addAll(other);
+        }
+
+        private boolean isBelow(double magnitude) {
+            return magnitude > max || (magnitude != magnitude && max == max);
+        }
+
+        private double norm() {
+            double squares = Double.isFinite(real) ? real + realCompensation : real;
+            return Math.scalb(Math.sqrt(squares), exponent);
+        }
+
+        private void rescale(int newExponent) {
+            int shift = 2 * (exponent - newExponent);
+            real = Math.scalb(real, shift);
+            realCompensation = Math.scalb(realCompensation, shift);
+            exponent = newExponent;
+        }
+
+        private Complex sum() {
+            return new Complex(Double.isFinite(real) ? real + realCompensation : real,
+                               Double.isFinite(imaginary) ? imaginary + imaginaryCompensation : imaginary);
+        }
+    }
+
+    private static final class Task extends RecursiveTask<Partial> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Combiner combiner;
+
+        private final int from;
+
+        private final double identity;
+
+        private final Leaf leaf;
+
+        private final int to;
+
+        private Task(Leaf leaf, Combiner combiner, double identity, int from, int to) {
+            this.leaf = leaf;
+            this.combiner = combiner;
+            this.identity = identity;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= THRESHOLD) {
+                Partial partial = new Partial(identity);
+                leaf.reduce(partial, from, to);
+                return partial;
+            }
+            int middle = (from + to) >>> 1;
+            Task left = new Task(leaf, combiner, identity, from, middle);
+            left.fork();
+            Partial right = new Task(leaf, combiner, identity, middle, to).compute();
+            Partial result = left.join();
+            combiner.combine(result, right);
+            return result;
+        }
+    }
+
+    private static final int MIN_EXPONENT = Double.MIN_EXPONENT - 53;
+
+    private static final int THRESHOLD = 1 << 13;
+
+    /**
+     * This static method returns the dot product of two complex arrays, the sum of
+     * array1[k] times the conjugate of array2[k]. With this convention
+     * dot(array, array) is the square of {@link #norm2(ComplexArray)}.
+     * 
+     * @param array1 the complex array.
+     * @param array2 the complex array to be conjugated, of the same length.
+     * @return the dot product of array1 and array2.
+     */
+    public static Complex dot(ComplexArray array1, ComplexArray array2) {
+        if (array1.length() != array2.length()) {
+            throw new IllegalArgumentException("Length mismatch: " + array2.length() + " instead of " + array1.length());
+        }
+        double[] ar = array1.getRealParts(), ai = array1.getImaginaryParts();
+        double[] br = array2.getRealParts(), bi = array2.getImaginaryParts();
+        return reduce(array1.length(), (partial, from, to) -> {
+            for (int k = from; k < to; k++) {
+                partial.add((ar[k] * br[k]) + (ai[k] * bi[k]), (ai[k] * br[k]) - (ar[k] * bi[k]));
+            }
+        }, Partial::addAll, 0).sum();
+    }
+
+    /**
+     * This static method returns the index of the element of a complex array with
+     * the largest magnitude, the first one in case of a tie, or -1 if the array is
+     * empty. As with {@link Math#max(double, double)}, NaN is larger than any
+     * other magnitude: if an element has a NaN part and no infinite one, the
+     * index of the first such element is returned.
+     * 
+     * @param array the complex array.
+     * @return the index of the element with the largest magnitude.
+     */
+    public static int indexOfMaxMagnitude(ComplexArray array) {
+        double[] ar = array.getRealParts(), ai = array.getImaginaryParts();
+        return reduce(array.length(), (partial, from, to) -> {
+            for (int k = from; k < to; k++) {
+                double magnitude = Complex.magnitude(ar[k], ai[k]);
+                if (partial.isBelow(magnitude)) {
+                    partial.max = magnitude;
+                    partial.index = k;
+                }
+            }
+        }, (partial, other) -> {
+            if (partial.isBelow(other.max)) {
+                partial.max = other.max;
+                partial.index = other.index;
+            }
+        }, 0).index;
+    }
+
+    /**
+     * This static method returns the Euclidean norm of a complex array, the square
+     * root of the sum of the squared magnitudes of its elements. As in the dnrm2
+     * routine of LAPACK, the squares are summed relative to a running scale, a
+     * power of two above the largest part seen so far, so elements near the
+     * limits of the double range neither overflow nor underflow. Rescaling by a
+     * power of two is exact, so the compensated sum keeps its precision.
+     * 
+     * @param array the complex array.
+     * @return the norm of array.
+     */
+    public static double norm2(ComplexArray array) {
+        double[] ar = array.getRealParts(), ai = array.getImaginaryParts();
+        return reduce(array.length(), (partial, from, to) -> {
+            for (int k = from; k < to; k++) {
+                partial.addSquares(ar[k], ai[k]);
+            }
+        }, Partial::addSquaresAll, 0).norm();
+    }
+
+    /**
+     * This static method returns the product of the elements of a complex array,
+     * or one if the array is empty.
+     * 
+     * @param array the complex array.
+     * @return the product of the elements of array.
+     */
+    public static Complex product(ComplexArray array) {
+        double[] ar = array.getRealParts(), ai = array.getImaginaryParts();
+        Partial partial = reduce(array.length(), (leaf, from, to) -> {
+            double real = leaf.real;
+            double imaginary = leaf.imaginary;
+            for (int k = from; k < to; k++) {
+                double product = (real * ar[k]) - (imaginary * ai[k]);
+                imaginary = (real * ai[k]) + (imaginary * ar[k]);
+                real = product;
+            }
+            leaf.real = real;
+            leaf.imaginary = imaginary;
+        }, (left, right) -> {
+            double product = (left.real * right.real) - (left.imaginary * right.imaginary);
+            left.imaginary = (left.real * right.imaginary) + (left.imaginary * right.real);
+            left.real = product;
+        }, 1);
+        return new Complex(partial.real, partial.imaginary);
+    }
+
+    /**
+     * This static method returns the product of a collection of complex numbers,
+     * or one if the collection is empty.
+     * 
+     * @param numbers the complex numbers.
+     * @return the product of numbers.
+     */
+    public static Complex product(Collection<Complex> numbers) {
+        return product(ComplexArray.of(numbers.toArray(new Complex[0])));
+    }
+
+    /**
+     * This static method returns the sum of the elements of a complex array, or
+     * zero if the array is empty.
+     * 
+     * @param array the complex array.
+     * @return the sum of the elements of array.
+     */
+    public static Complex sum(ComplexArray array) {
+        double[] ar = array.getRealParts(), ai = array.getImaginaryParts();
+        return reduce(array.length(), (partial, from, to) -> {
+            for (int k = from; k < to; k++) {
+                partial.add(ar[k], ai[k]);
+            }
+        }, Partial::addAll, 0).sum();
+    }
+
+    /**
+     * This static method returns the sum of a collection of complex numbers, or
+     * zero if the collection is empty.
+     * 
+     * @param numbers the complex numbers.
+     * @return the sum of numbers.
+     */
+    public static Complex sum(Collection<Complex> numbers) {
+        return sum(ComplexArray.of(numbers.toArray(new Complex[0])));
+    }
+
+    private static Partial reduce(int length, Leaf leaf, Combiner combiner, double identity) {
+        Task task = new Task(leaf, combiner, identity, 0, length);
+        return length <= THRESHOLD ? task.compute() : ForkJoinPool.commonPool()
+                                                                  .invoke(task);
+    }
+
+    private ComplexReductions() {
+    }
+
+}
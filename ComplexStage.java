@@ -0,0 +1,349 @@
+package edev.complex;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+
+/**
+ * This class represents a stage of a streaming signal pipeline: a
+ * {@link Flow.Processor} that receives blocks of complex samples, runs a
+ * {@link Kernel} over each of them into a block taken from its own
+ * {@link ComplexBlockPool}, recycles the input block into the pool it came from
+ * and publishes the output block to the next stage.<br/>
+ * Stages are chained with {@link #then(Kernel)} and the last one is drained
+ * with {@link #consume(Consumer)}. Each stage publishes through a
+ * {@link SubmissionPublisher} running on the given executor, with a bounded
+ * buffer: a stage requests one block at a time and blocks when the buffer of
+ * the next one is full, so a slow stage slows down the whole pipeline down to
+ * the source instead of letting blocks pile up. On Java 21 and later, passing
+ * {@code Executors.newVirtualThreadPerTaskExecutor()} runs every stage on
+ * virtual threads.<br/>
+ * The built-in kernels are mixing by a complex phasor, FIR filtering,
+ * decimation, conjugation and magnitude. They are written with the bulk
+ * operations of {@link ComplexArray} and keep the parts exactly as computed.
+ * Mixing and filtering carry their phase and history from one block to the
+ * next, so a kernel must be used by a single stage. A stage has a single
+ * subscriber, which owns the blocks it receives.
+ * 
+ * @author Ezeqèl
+ */
+public final class ComplexStage implements Flow.Processor<ComplexArray, ComplexArray>, AutoCloseable {
+
+    /**
+     * This interface represents the processing applied by a stage to every
+     * block. It is called for one block at a time, so it can keep state from one
+     * block to the next.
+     */
+    @FunctionalInterface
+    public interface Kernel {
+
+        /**
+         * This method returns the length of the output blocks for input blocks of
+         * the given length. By default it is the same length.
+         * 
+         * @param inputLength the length of the input blocks.
+         * @return the length of the output blocks.
+         */
+        default int outputLength(int inputLength) {
+            return inputLength;
+        }
+
+        /**
+         * This method processes an input block into an output block. The input
+         * block must not be kept: it is recycled as soon as this method returns.
+         * 
+         * @param input  the input block.
+         * @param output the output block, of {@link #outputLength(int)} elements.
+         */
+        void process(ComplexArray input, ComplexArray output);
+    }
+
+    /**
+     * This static method returns a kernel that conjugates every sample, as
+     * {@link Complex#getConjugate()}.
+     * 
+     * @return a conjugation kernel.
+     */
+    public static Kernel conjugate() {
+        return ComplexArray::getConjugate;
+    }
+
+    /**
+     * This static method returns a kernel that keeps one sample out of factor.
+     * It does not filter: precede it with a low-pass {@link #fir(ComplexArray)}
+     * kernel to avoid aliasing. The length of the input blocks must be a multiple
+     * of factor, so that the kept samples are evenly spaced across blocks.
+     * 
+     * @param factor the positive decimation factor.
+     * @return a decimation kernel.
+     */
+    public static Kernel decimate(int factor) {
+        if (factor < 1) {
+            throw new IllegalArgumentException("Factor must be positive: " + factor);
+        }
+        return new Kernel() {
+
+            @Override
+            public int outputLength(int inputLength) {
+                if (inputLength % factor != 0) {
+                    throw new IllegalArgumentException("Block length " + inputLength + " is not a multiple of " + factor);
+                }
+                return inputLength / factor;
+            }
+
+            @Override
+            public void process(ComplexArray input, ComplexArray output) {
+                double[] ir = input.getRealParts(), ii = input.getImaginaryParts();
+                double[] or = output.getRealParts(), oi = output.getImaginaryParts();
+                for (int j = 0, i = 0; j < or.length; j++, i += factor) {
+                    or[j] = ir[i];
+                    oi[j] = ii[i];
+                }
+            }
+        };
+    }
+
+    /**
+     * This static method returns a kernel applying a finite impulse response
+     * filter, y[n] = taps[0] x[n] + taps[1] x[n - 1] + ... The last samples of
+     * each block are kept as the history of the next one, so the output is the
+     * same as if the stream had been filtered in one piece. The loop over the
+     * samples is innermost, one pass per tap.
+     * 
+     * @param taps the coefficients of the filter, at least one.
+     * @return a filtering kernel.
+     */
+    public static Kernel fir(ComplexArray taps) {
+        int m = taps.length();
+        if (m == 0) {
+            throw new IllegalArgumentException("A filter needs at least one tap");
+        }
+        double[] hr = taps.getRealParts().clone(), hi = taps.getImaginaryParts().clone();
+        return new Kernel() {
+
+            private double[] extendedReal = new double[m - 1];
+
+            private double[] extendedImaginary = new double[m - 1];
+
+            @Override
+            public void process(ComplexArray input, ComplexArray output) {
+                int n = input.length();
+                if (extendedReal.length != (m - 1) + n) {
+                    extendedReal = Arrays.copyOf(extendedReal, (m - 1) + n);
+                    extendedImaginary = Arrays.copyOf(extendedImaginary, (m - 1) + n);
+                }
+                double[] er = extendedReal, ei = extendedImaginary;
+                System.arraycopy(input.getRealParts(), 0, er, m - 1, n);
+                System.arraycopy(input.getImaginaryParts(), 0, ei, m - 1, n);
+                double[] or = output.getRealParts(), oi = output.getImaginaryParts();
+                Arrays.fill(or, 0);
+                Arrays.fill(oi, 0);
+                for (int k = 0; k < m; k++) {
+                    double cr = hr[k], ci = hi[k];
+                    int offset = (m - 1) - k;
+                    for (int i = 0; i < n; i++) {
+                        double xr = er[offset + i], xi = ei[offset + i];
+                        or[i] += (cr * xr) - (ci * xi);
+                        oi[i] += (cr * xi) + (ci * xr);
+                    }
+                }
+                System.arraycopy(er, n, er, 0, m - 1);
+                System.arraycopy(ei, n, ei, 0, m - 1);
+            }
+        };
+    }
+
+    /**
+     * This static method returns a kernel that replaces every sample by its
+     * magnitude, as {@link Complex#getMagnitude()}, held in the real part with a
+     * zero imaginary part.
+     * 
+     * @return a magnitude kernel.
+     */
+    public static Kernel magnitude() {
+        return (input, output) -> {
+            input.getMagnitude(output.getRealParts());
+            Arrays.fill(output.getImaginaryParts(), 0);
+        };
+    }
+
+    /**
+     * This static method returns a kernel that multiplies the samples by the
+     * phasor e^(2 pi i frequency n), shifting the spectrum by frequency. The
+     * phasors of a block are a table computed once, rotated by the phase reached
+     * at the end of the previous block, so the phase stays continuous from one
+     * block to the next.
+     * 
+     * @param frequency the frequency shift, in cycles per sample.
+     * @return a mixing kernel.
+     */
+    public static Kernel mix(double frequency) {
+        double omega = 2 * Math.PI * frequency;
+        return new Kernel() {
+
+            private ComplexArray phasors;
+
+            private ComplexArray table;
+
+            private double phaseReal = 1;
+
+            private double phaseImaginary = 0;
+
+            @Override
+            public void process(ComplexArray input, ComplexArray output) {
+                int n = input.length();
+                if (table == null || table.length() != n) {
+                    table = new ComplexArray(n);
+                    phasors = new ComplexArray(n);
+                    for (int i = 0; i < n; i++) {
+                        table.set(i, Math.cos(omega * i), Math.sin(omega * i));
+                    }
+                }
+                double[] tr = table.getRealParts(), ti = table.getImaginaryParts();
+                double[] pr = phasors.getRealParts(), pi = phasors.getImaginaryParts();
+                for (int i = 0; i < n; i++) {
+                    pr[i] = (tr[i] * phaseReal) - (ti[i] * phaseImaginary);
+                    pi[i] = (tr[i] * phaseImaginary) + (ti[i] * phaseReal);
+                }
+                ComplexArray.multiply(input, phasors, output);
+                double stepReal = Math.cos(omega * n), stepImaginary = Math.sin(omega * n);
+                double real = (phaseReal * stepReal) - (phaseImaginary * stepImaginary);
+                double imaginary = (phaseReal * stepImaginary) + (phaseImaginary * stepReal);
+                double magnitude = Complex.magnitude(real, imaginary);
+                phaseReal = real / magnitude;
+                phaseImaginary = imaginary / magnitude;
+            }
+        };
+    }
+
+    private final int capacity;
+
+    private final Executor executor;
+
+    private final ComplexBlockPool input;
+
+    private final Kernel kernel;
+
+    private final ComplexBlockPool output;
+
+    private final SubmissionPublisher<ComplexArray> publisher;
+
+    private volatile Flow.Subscription subscription;
+
+    /**
+     * This constructor creates a stage reading blocks taken from the given pool.
+     * The stage is not subscribed to anything yet; subscribe it to the publisher
+     * of these blocks.
+     * 
+     * @param input    the pool of the input blocks, to which they are recycled.
+     * @param kernel   the processing applied to every block.
+     * @param executor the executor delivering the output blocks to the next
+     *                 stage.
+     * @param capacity the maximum number of output blocks buffered for the next
+     *                 stage, positive and below 2^30.
+     */
+    public ComplexStage(ComplexBlockPool input, Kernel kernel, Executor executor, int capacity) {
+        if (capacity < 1 || capacity > (Integer.MAX_VALUE - 2) / 2) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        this.input = Objects.requireNonNull(input, "input");
+        this.kernel = Objects.requireNonNull(kernel, "kernel");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.capacity = capacity;
+        this.output = new ComplexBlockPool(kernel.outputLength(input.blockLength()), 2 * capacity + 2);
+        this.publisher = new SubmissionPublisher<>(executor, capacity);
+    }
+
+    /**
+     * This method closes the publisher of this stage, completing the next one
+     * once it has received the buffered blocks.
+     */
+    @Override
+    public void close() {
+        publisher.close();
+    }
+
+    /**
+     * This method ends the pipeline at this stage: every output block is passed
+     * to consumer and then recycled, so consumer must not keep it.
+     * 
+     * @param consumer the action run on every output block.
+     * @return a future completed when the stream has been fully consumed, or
+     *         completed exceptionally if a stage failed.
+     */
+    public CompletableFuture<Void> consume(Consumer<ComplexArray> consumer) {
+        return publisher.consume(block -> {
+            consumer.accept(block);
+            output.release(block);
+        });
+    }
+
+    /**
+     * This method returns the pool of the output blocks of this stage, to which
+     * the next stage recycles them.
+     * 
+     * @return the output pool.
+     */
+    public ComplexBlockPool getPool() {
+        return output;
+    }
+
+    @Override
+    public void onComplete() {
+        publisher.close();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        publisher.closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onNext(ComplexArray block) {
+        ComplexArray result = output.acquire();
+        try {
+            kernel.process(block, result);
+        } catch (RuntimeException exception) {
+            output.release(result);
+            input.release(block);
+            subscription.cancel();
+            publisher.closeExceptionally(exception);
+            return;
+        }
+        input.release(block);
+        publisher.submit(result);
+        subscription.request(1);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ComplexArray> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * This method appends a stage to this one, on the same executor and with the
+     * same buffer capacity.
+     * 
+     * @param next the processing applied by the new stage.
+     * @return the new stage, subscribed to this one.
+     */
+    public ComplexStage then(Kernel next) {
+        ComplexStage stage = new ComplexStage(output, next, executor, capacity);
+        subscribe(stage);
+        return stage;
+    }
+}
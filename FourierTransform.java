@@ -0,0 +1,398 @@
+package edev.complex;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class computes discrete Fourier transforms of complex buffers in
+ * O(n log n). Sizes that are powers of two go through an iterative radix-2
+ * Cooley-Tukey transform; any other size goes through Bluestein's chirp-z
+ * algorithm, which turns the transform into a power-of-two convolution.<br/>
+ * The twiddle factors (taken from the shared roots of unity), bit-reversal
+ * permutation and chirp of a size are computed once, on first use, and cached
+ * in an immutable plan shared by all threads. The transforms work on
+ * primitive arrays and never create a {@link Complex}.<br/>
+ * The forward transform computes X[k] = sum x[j] e^(-2 pi i jk / n). The
+ * inverse transform uses the opposite sign and divides by n, so that it undoes
+ * the forward transform.
+ * 
+ * @author Ezeqèl
+ */
+public final class FourierTransform {
+
+    private static final class Plan {
+
+        private final double[] chirpImaginary;
+
+        private final double[] chirpReal;
+
+        private final Plan convolution;
+
+        private final double[] cos;
+
+        private final double[] kernelImaginary;
+
+        private final double[] kernelReal;
+
+        private final int n;
+
+        private final int[] reversed;
+
+        private final double[] sin;
+
+        private Plan(int n, Plan convolution) {
+            this.n = n;
+            this.convolution = convolution;
+            if (convolution == null) {
+                RootsOfUnity unity = RootsOfUnity.of(n);
+                cos = unity.cos;
+                sin = unity.sin;
+                reversed = new int[n];
+                int bits = Integer.numberOfTrailingZeros(n);
+                for (int i = 1; i < n; i++) {
+                    reversed[i] = Integer.reverse(i) >>> (Integer.SIZE - bits);
+                }
+                chirpReal = chirpImaginary = kernelReal = kernelImaginary = null;
+            } else {
+                int m = convolution.n;
+                chirpReal = new double[n];
+                chirpImaginary = new double[n];
+                kernelReal = new double[m];
+                kernelImaginary = new double[m];
+                for (int k = 0; k < n; k++) {
+                    long square = ((long) k * k) % (2L * n);
+                    double angle = (Math.PI * square) / n;
+                    chirpReal[k] = Math.cos(angle);
+                    chirpImaginary[k] = -Math.sin(angle);
+                    kernelReal[k] = chirpReal[k];
+                    kernelImaginary[k] = -chirpImaginary[k];
+                    if (k > 0) {
+                        kernelReal[m - k] = kernelReal[k];
+                        kernelImaginary[m - k] = kernelImaginary[k];
+                    }
+                }
+                radix2(kernelReal, kernelImaginary, convolution, false);
+                cos = sin = null;
+                reversed = null;
+            }
+        }
+    }
+
+    private static final int MAX_PLANS = 64;
+
+    private static final Map<Integer, Plan> PLANS = new ConcurrentHashMap<>();
+
+    private static void bluestein(double[] real, double[] imaginary, Plan plan) {
+        int n = plan.n;
+        int m = plan.convolution.n;
+        double[] wr = plan.chirpReal, wi = plan.chirpImaginary;
+        double[] ar = new double[m];
+        double[] ai = new double[m];
+        for (int k = 0; k < n; k++) {
+            ar[k] = (real[k] * wr[k]) - (imaginary[k] * wi[k]);
+            ai[k] = (real[k] * wi[k]) + (imaginary[k] * wr[k]);
+        }
+        radix2(ar, ai, plan.convolution, false);
+        double[] br = plan.kernelReal, bi = plan.kernelImaginary;
+        for (int k = 0; k < m; k++) {
+            double a = ar[k];
+            double b = ai[k];
+            ar[k] = (a * br[k]) - (b * bi[k]);
+            ai[k] = (a * bi[k]) + (b * br[k]);
+        }
+        radix2(ar, ai, plan.convolution, true);
+        double scale = 1.0 / m;
+        for (int k = 0; k < n; k++) {
+            double a = ar[k] * scale;
+            double b = ai[k] * scale;
+            real[k] = (a * wr[k]) - (b * wi[k]);
+            imaginary[k] = (a * wi[k]) + (b * wr[k]);
+        }
+    }
+
+    private static void checkLength(double[] real, double[] imaginary) {
+        if (real.length != imaginary.length) {
+            throw new IllegalArgumentException("Length mismatch: " + imaginary.length + " instead of " + real.length);
+        }
+    }
+
+    /**
+     * This static method returns the forward transform of a complex array. The
+     * method returns a new complex array, the argument is left unchanged.
+     * 
+     * @param array the complex array to be transformed.
+     * @return a new complex array holding the transform of array.
+     */
+    public static ComplexArray forward(ComplexArray array) {
+        return forward(array, new ComplexArray(array.length()));
+    }
+
+    /**
+     * This static method writes the forward transform of a complex array into
+     * another one. Passing the same array twice transforms it in place.
+     * 
+     * @param array  the complex array to be transformed.
+     * @param result the complex array receiving the transform.
+     * @return the result array.
+     */
+    public static ComplexArray forward(ComplexArray array, ComplexArray result) {
+        copy(array, result);
+        forward(result.getRealParts(), result.getImaginaryParts());
+        return result;
+    }
+
+    /**
+     * This static method computes the forward transform of a complex buffer in
+     * place.
+     * 
+     * @param real      the real parts, replaced by the real parts of the transform.
+     * @param imaginary the imaginary parts, replaced by the imaginary parts of the
+     *                  transform.
+     */
+    public static void forward(double[] real, double[] imaginary) {
+        checkLength(real, imaginary);
+        transform(real, imaginary, plan(real.length), false);
+    }
+
+    /**
+     * This static method returns the forward transform of a real signal. Since the
+     * transform of a real signal is Hermitian-symmetric, only its first n / 2 + 1
+     * elements are returned. For even power-of-two sizes the signal is packed into
+     * a complex buffer of half the size, which halves the work.
+     * 
+     * @param input the real signal.
+     * @return a new complex array holding the first n / 2 + 1 elements of the
+     *         transform.
+     */
+    public static ComplexArray forwardReal(double[] input) {
+        return forwardReal(input, new ComplexArray((input.length / 2) + 1));
+    }
+
+    /**
+     * This static method writes the first n / 2 + 1 elements of the forward
+     * transform of a real signal into a complex array.
+     * 
+     * @param input  the real signal.
+     * @param result the complex array receiving the transform, of length n / 2 + 1.
+     * @return the result array.
+     */
+    public static ComplexArray forwardReal(double[] input, ComplexArray result) {
+        int n = input.length;
+        int half = n / 2;
+        if (result.length() != half + 1) {
+            throw new IllegalArgumentException("Length mismatch: " + result.length() + " instead of " + (half + 1));
+        }
+        double[] rr = result.getRealParts(), ri = result.getImaginaryParts();
+        if (n < 2 || !isPowerOfTwo(n)) {
+            double[] real = input.clone();
+            double[] imaginary = new double[n];
+            forward(real, imaginary);
+            System.arraycopy(real, 0, rr, 0, half + 1);
+            System.arraycopy(imaginary, 0, ri, 0, half + 1);
+            return result;
+        }
+        double[] zr = new double[half];
+        double[] zi = new double[half];
+        for (int k = 0; k < half; k++) {
+            zr[k] = input[2 * k];
+            zi[k] = input[(2 * k) + 1];
+        }
+        transform(zr, zi, plan(half), false);
+        Plan plan = plan(n);
+        for (int k = 0; k <= half; k++) {
+            int a = k % half;
+            int b = (half - k) % half;
+            double evenReal = (zr[a] + zr[b]) / 2;
+            double evenImaginary = (zi[a] - zi[b]) / 2;
+            double oddReal = (zi[a] + zi[b]) / 2;
+            double oddImaginary = -(zr[a] - zr[b]) / 2;
+            double wr = k < half ? plan.cos[k] : -1;
+            double wi = k < half ? -plan.sin[k] : 0;
+            rr[k] = evenReal + ((wr * oddReal) - (wi * oddImaginary));
+            ri[k] = evenImaginary + ((wr * oddImaginary) + (wi * oddReal));
+        }
+        return result;
+    }
+
+    /**
+     * This static method returns the inverse transform of a complex array. The
+     * method returns a new complex array, the argument is left unchanged.
+     * 
+     * @param array the complex array to be transformed.
+     * @return a new complex array holding the inverse transform of array.
+     */
+    public static ComplexArray inverse(ComplexArray array) {
+        return inverse(array, new ComplexArray(array.length()));
+    }
+
+    /**
+     * This static method writes the inverse transform of a complex array into
+     * another one. Passing the same array twice transforms it in place.
+     * 
+     * @param array  the complex array to be transformed.
+     * @param result the complex array receiving the inverse transform.
+     * @return the result array.
+     */
+    public static ComplexArray inverse(ComplexArray array, ComplexArray result) {
+        copy(array, result);
+        inverse(result.getRealParts(), result.getImaginaryParts());
+        return result;
+    }
+
+    /**
+     * This static method computes the inverse transform of a complex buffer in
+     * place.
+     * 
+     * @param real      the real parts, replaced by the real parts of the inverse
+     *                  transform.
+     * @param imaginary the imaginary parts, replaced by the imaginary parts of the
+     *                  inverse transform.
+     */
+    public static void inverse(double[] real, double[] imaginary) {
+        checkLength(real, imaginary);
+        transform(real, imaginary, plan(real.length), true);
+    }
+
+    /**
+     * This static method writes the real signal whose forward transform starts
+     * with the given n / 2 + 1 elements into an array of length n. It undoes
+     * {@link #forwardReal(double[])}.
+     * 
+     * @param spectrum the first n / 2 + 1 elements of a Hermitian-symmetric
+     *                 transform.
+     * @param result   the array of length n receiving the real signal.
+     * @return the result array.
+     */
+    public static double[] inverseReal(ComplexArray spectrum, double[] result) {
+        int n = result.length;
+        int half = n / 2;
+        if (spectrum.length() != half + 1) {
+            throw new IllegalArgumentException("Length mismatch: " + spectrum.length() + " instead of " + (half + 1));
+        }
+        double[] sr = spectrum.getRealParts(), si = spectrum.getImaginaryParts();
+        if (n < 2 || !isPowerOfTwo(n)) {
+            double[] imaginary = new double[n];
+            for (int k = 0; k < n; k++) {
+                result[k] = k <= half ? sr[k] : sr[n - k];
+                imaginary[k] = k <= half ? si[k] : -si[n - k];
+            }
+            inverse(result, imaginary);
+            return result;
+        }
+        double[] zr = new double[half];
+        double[] zi = new double[half];
+        Plan plan = plan(n);
+        for (int k = 0; k < half; k++) {
+            int b = half - k;
+            double evenReal = (sr[k] + sr[b]) / 2;
+            double evenImaginary = (si[k] - si[b]) / 2;
+            double differenceReal = (sr[k] - sr[b]) / 2;
+            double differenceImaginary = (si[k] + si[b]) / 2;
+            double wr = plan.cos[k];
+            double wi = plan.sin[k];
+            double oddReal = (differenceReal * wr) - (differenceImaginary * wi);
+            double oddImaginary = (differenceReal * wi) + (differenceImaginary * wr);
+            zr[k] = evenReal - oddImaginary;
+            zi[k] = evenImaginary + oddReal;
+        }
+        transform(zr, zi, plan(half), true);
+        for (int k = 0; k < half; k++) {
+            result[2 * k] = zr[k];
+            result[(2 * k) + 1] = zi[k];
+        }
+        return result;
+    }
+
+    private static void copy(ComplexArray array, ComplexArray result) {
+        if (array.length() != result.length()) {
+            throw new IllegalArgumentException("Length mismatch: " + result.length() + " instead of " + array.length());
+        }
+        if (array != result) {
+            System.arraycopy(array.getRealParts(), 0, result.getRealParts(), 0, array.length());
+            System.arraycopy(array.getImaginaryParts(), 0, result.getImaginaryParts(), 0, array.length());
+        }
+    }
+
+    private static boolean isPowerOfTwo(int n) {
+        return (n & (n - 1)) == 0;
+    }
+
+    private static Plan plan(int n) {
+        Plan plan = PLANS.get(n);
+        if (plan == null) {
+            Plan convolution = isPowerOfTwo(n) ? null : plan(Integer.highestOneBit((2 * n) - 1) << 1);
+            if (PLANS.size() >= MAX_PLANS) {
+                PLANS.clear();
+            }
+            plan = PLANS.computeIfAbsent(n, size -> new Plan(size, convolution));
+        }
+        return plan;
+    }
+
+    private static void radix2(double[] real, double[] imaginary, Plan plan, boolean inverse) {
+        int n = plan.n;
+        int[] reversed = plan.reversed;
+        for (int i = 0; i < n; i++) {
+            int j = reversed[i];
+            if (i < j) {
+                double t = real[i];
+                real[i] = real[j];
+                real[j] = t;
+                t = imaginary[i];
+                imaginary[i] = imaginary[j];
+                imaginary[j] = t;
+            }
+        }
+        double[] cos = plan.cos, sin = plan.sin;
+        double sign = inverse ? 1 : -1;
+        for (int size = 2; size <= n; size <<= 1) {
+            int half = size >>> 1;
+            int step = n / size;
+            for (int start = 0; start < n; start += size) {
+                for (int k = 0, t = 0; k < half; k++, t += step) {
+                    double wr = cos[t];
+                    double wi = sign * sin[t];
+                    int i = start + k;
+                    int j = i + half;
+                    double xr = (real[j] * wr) - (imaginary[j] * wi);
+                    double xi = (real[j] * wi) + (imaginary[j] * wr);
+                    real[j] = real[i] - xr;
+                    imaginary[j] = imaginary[i] - xi;
+                    real[i] += xr;
+                    imaginary[i] += xi;
+                }
+            }
+        }
+    }
+
+    private static void transform(double[] real, double[] imaginary, Plan plan, boolean inverse) {
+        int n = plan.n;
+        if (n < 2) {
+            return;
+        }
+        if (plan.convolution == null) {
+            radix2(real, imaginary, plan, inverse);
+        } else if (!inverse) {
+            bluestein(real, imaginary, plan);
+        } else {
+            for (int k = 0; k < n; k++) {
+                imaginary[k] = -imaginary[k];
+            }
+            bluestein(real, imaginary, plan);
+            for (int k = 0; k < n; k++) {
+                imaginary[k] = -imaginary[k];
+            }
+        }
+        if (inverse) {
+            double scale = 1.0 / n;
+            for (int k = 0; k < n; k++) {
+                real[k] *= scale;
+                imaginary[k] *= scale;
+            }
+        }
+    }
+
+    private FourierTransform() {
+    }
+
+}
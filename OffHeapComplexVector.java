@@ -0,0 +1,485 @@
+package edev.complex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class represents a vector of complex numbers stored outside the Java
+ * heap, in direct buffers or in a memory-mapped file, so that its length is
+ * only bounded by the address space. Elements are laid out as in
+ * {@link ComplexCodec} files, the real part followed by the imaginary part, in
+ * chunks of 2^26 elements (1 GiB), and indexed with longs.<br/>
+ * The element-wise operations mirror those of {@link Complex} and run chunk by
+ * chunk directly on the buffers. {@link #slice(long, long)} returns a view
+ * sharing the same storage, and {@link #forEachBlock(int, BlockProcessor)}
+ * streams the vector through a bounded heap buffer, so that captures larger
+ * than the heap can be processed in passes.<br/>
+ * An off-heap complex vector is not thread-safe; concurrent readers are fine as
+ * long as no thread writes to it.
+ * 
+ * @author Ezeqèl
+ */
+public final class OffHeapComplexVector {
+
+    /**
+     * This interface represents the processing of a block of consecutive
+     * elements during a streaming pass.
+     */
+    @FunctionalInterface
+    public static interface BlockProcessor {
+
+        /**
+         * This method processes a block of elements. Changes made to the block are
+         * written back to the vector.
+         * 
+         * @param offset the index of the first element of the block in the vector.
+         * @param block  the elements, copied to the heap.
+         */
+        void process(long offset, ComplexArray block);
+    }
+
+    @FunctionalInterface
+    private static interface Kernel {
+
+        void apply(DoubleBuffer a, int ia, DoubleBuffer b, int ib, DoubleBuffer r, int ir, int count);
+    }
+
+    private static final int CHUNK_SHIFT = 26;
+
+    private static final long CHUNK = 1L << CHUNK_SHIFT;
+
+    private static final long MASK = CHUNK - 1;
+
+    /**
+     * This static method adds two vectors element by element into a third one.
+     * The result vector may be one of the operands.
+     * 
+     * @param vector1 the complex vector.
+     * @param vector2 the complex vector to be added.
+     * @param result  the complex vector receiving the sums.
+     * @return the result vector.
+     */
+    public static OffHeapComplexVector add(OffHeapComplexVector vector1, OffHeapComplexVector vector2,
+                                           OffHeapComplexVector result) {
+        return run(vector1, vector2, result, (a, ia, b, ib, r, ir, count) -> {
+            for (int k = 0; k < 2 * count; k++) {
+                r.put(ir + k, a.get(ia + k) + b.get(ib + k));
+            }
+        });
+    }
+
+    /**
+     * This static method allocates a vector of the given length in direct
+     * buffers, holding zeros. The buffers use the little-endian layout of mapped
+     * files, so their bytes can be written to a {@link ComplexCodec} file as is.
+     * 
+     * @param length the number of elements.
+     * @return a new off-heap complex vector.
+     */
+    public static OffHeapComplexVector allocate(long length) {
+        DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(length)];
+        for (int i = 0; i < chunks.length; i++) {
+            long count = Math.min(CHUNK, length - (i * CHUNK));
+            chunks[i] = ByteBuffer.allocateDirect((int) (count * ComplexCodec.BYTES))
+                                  .order(ByteOrder.LITTLE_ENDIAN)
+                                  .asDoubleBuffer();
+        }
+        return new OffHeapComplexVector(chunks, 0, length);
+    }
+
+    /**
+     * This static method conjugates every element of a vector into another one.
+     * The result vector may be the operand.
+     * 
+     * @param vector the complex vector.
+     * @param result the complex vector receiving the conjugates.
+     * @return the result vector.
+     */
+    public static OffHeapComplexVector getConjugate(OffHeapComplexVector vector, OffHeapComplexVector result) {
+        return run(vector, vector, result, (a, ia, b, ib, r, ir, count) -> {
+            for (int k = 0; k < 2 * count; k += 2) {
+                r.put(ir + k, a.get(ia + k));
+                r.put(ir + k + 1, -a.get(ia + k + 1));
+            }
+        });
+    }
+
+    /**
+     * This static method maps an existing {@link ComplexCodec} file in read-write
+     * mode. Changes made to the vector are written to the file. An
+     * {@link IOException} is thrown if the file cannot be mapped or its length is
+     * not a multiple of {@value ComplexCodec#BYTES}.
+     * 
+     * @param file the file to map.
+     * @return a new off-heap complex vector backed by the file.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public static OffHeapComplexVector map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size % ComplexCodec.BYTES != 0) {
+                throw new IOException("Not a complex array file: " + file + " (" + size + " bytes)");
+            }
+            return map(channel, size / ComplexCodec.BYTES);
+        }
+    }
+
+    /**
+     * This static method maps a {@link ComplexCodec} file of the given length in
+     * read-write mode, creating it or resizing it as needed. Changes made to the
+     * vector are written to the file.
+     * 
+     * @param file   the file to map.
+     * @param length the number of elements.
+     * @return a new off-heap complex vector backed by the file.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public static OffHeapComplexVector map(Path file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            if (channel.size() > length * ComplexCodec.BYTES) {
+                channel.truncate(length * ComplexCodec.BYTES);
+            }
+            return map(channel, length);
+        }
+    }
+
+    /**
+     * This static method multiplies two vectors element by element into a third
+     * one. The result vector may be one of the operands.
+     * 
+     * @param vector1 the complex vector to be multiplied.
+     * @param vector2 the complex vector to be multiplied.
+     * @param result  the complex vector receiving the products.
+     * @return the result vector.
+     */
+    public static OffHeapComplexVector multiply(OffHeapComplexVector vector1, OffHeapComplexVector vector2,
+                                                OffHeapComplexVector result) {
+        return run(vector1, vector2, result, (a, ia, b, ib, r, ir, count) -> {
+            for (int k = 0; k < 2 * count; k += 2) {
+                double ar = a.get(ia + k);
+                double ai = a.get(ia + k + 1);
+                double br = b.get(ib + k);
+                double bi = b.get(ib + k + 1);
+                r.put(ir + k, (ar * br) - (ai * bi));
+                r.put(ir + k + 1, (ar * bi) + (ai * br));
+            }
+        });
+    }
+
+    /**
+     * This static method multiplies every element of a vector by a complex number
+     * into another one. The result vector may be the operand.
+     * 
+     * @param vector the complex vector to be multiplied.
+     * @param number the complex number to multiply by.
+     * @param result the complex vector receiving the products.
+     * @return the result vector.
+     */
+    public static OffHeapComplexVector multiply(OffHeapComplexVector vector, Complex number,
+                                                OffHeapComplexVector result) {
+        double br = number.getRealPart();
+        double bi = number.getImaginaryPart();
+        return run(vector, vector, result, (a, ia, b, ib, r, ir, count) -> {
+            for (int k = 0; k < 2 * count; k += 2) {
+                double ar = a.get(ia + k);
+                double ai = a.get(ia + k + 1);
+                r.put(ir + k, (ar * br) - (ai * bi));
+                r.put(ir + k + 1, (ar * bi) + (ai * br));
+            }
+        });
+    }
+
+    /**
+     * This static method subtracts two vectors element by element into a third
+     * one. The result vector may be one of the operands.
+     * 
+     * @param vector1 the complex vector.
+     * @param vector2 the complex vector to be subtracted.
+     * @param result  the complex vector receiving the differences.
+     * @return the result vector.
+     */
+    public static OffHeapComplexVector subtract(OffHeapComplexVector vector1, OffHeapComplexVector vector2,
+                                                OffHeapComplexVector result) {
+        return run(vector1, vector2, result, (a, ia, b, ib, r, ir, count) -> {
+            for (int k = 0; k < 2 * count; k++) {
+                r.put(ir + k, a.get(ia + k) - b.get(ib + k));
+            }
+        });
+    }
+
+    private static int chunkCount(long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length: " + length);
+        }
+        return (int) ((length + CHUNK - 1) >>> CHUNK_SHIFT);
+    }
+
+    private static OffHeapComplexVector map(FileChannel channel, long length) throws IOException {
+        DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(length)];
+        for (int i = 0; i < chunks.length; i++) {
+            long count = Math.min(CHUNK, length - (i * CHUNK));
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * CHUNK * ComplexCodec.BYTES,
+                                    count * ComplexCodec.BYTES)
+                               .order(ByteOrder.LITTLE_ENDIAN)
+                               .asDoubleBuffer();
+        }
+        return new OffHeapComplexVector(chunks, 0, length);
+    }
+
+    private static OffHeapComplexVector run(OffHeapComplexVector a, OffHeapComplexVector b, OffHeapComplexVector r,
+                                            Kernel kernel) {
+        long n = a.length;
+        if (b.length != n || r.length != n) {
+            throw new IllegalArgumentException("Length mismatch: " + b.length + " and " + r.length
+                                               + " instead of " + n);
+        }
+        for (long i = 0; i < n;) {
+            long ga = a.offset + i, gb = b.offset + i, gr = r.offset + i;
+            long count = Math.min(n - i, CHUNK - Math.max(ga & MASK, Math.max(gb & MASK, gr & MASK)));
+            kernel.apply(a.chunks[(int) (ga >>> CHUNK_SHIFT)], (int) (ga & MASK) * 2,
+                         b.chunks[(int) (gb >>> CHUNK_SHIFT)], (int) (gb & MASK) * 2,
+                         r.chunks[(int) (gr >>> CHUNK_SHIFT)], (int) (gr & MASK) * 2, (int) count);
+            i += count;
+        }
+        return r;
+    }
+
+    private final DoubleBuffer[] chunks;
+
+    private final long length;
+
+    private final long offset;
+
+    private OffHeapComplexVector(DoubleBuffer[] chunks, long offset, long length) {
+        this.chunks = chunks;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * This method adds another vector to this one element by element, in place.
+     * 
+     * @param vector the complex vector to be added.
+     * @return this vector.
+     */
+    public OffHeapComplexVector addInPlace(OffHeapComplexVector vector) {
+        return add(this, vector, this);
+    }
+
+    /**
+     * This method streams this vector through the heap, block by block. Each block
+     * of at most blockSize consecutive elements is copied to a heap buffer, handed
+     * to the processor and copied back, so that the heap footprint stays bounded
+     * by blockSize whatever the length of the vector. An
+     * {@link IllegalArgumentException} is thrown if blockSize is not positive.
+     * 
+     * @param blockSize the maximum number of elements per block.
+     * @param processor the processing applied to each block.
+     */
+    public void forEachBlock(int blockSize, BlockProcessor processor) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        ComplexArray block = new ComplexArray((int) Math.min(blockSize, length));
+        for (long from = 0; from < length; from += blockSize) {
+            if (length - from < block.length()) {
+                block = new ComplexArray((int) (length - from));
+            }
+            read(from, block);
+            processor.process(from, block);
+            write(from, block);
+        }
+    }
+
+    /**
+     * This method returns the element at the given index as a complex number, with
+     * the current rounding policy applied.
+     * 
+     * @param index the index of the element.
+     * @return a new Complex object holding the element.
+     */
+    public Complex get(long index) {
+        return new Complex(getRealPart(index), getImaginaryPart(index));
+    }
+
+    /**
+     * This method writes the arguments (angles) of consecutive elements of this
+     * vector, in radians, into the given array.
+     * 
+     * @param from   the index of the first element.
+     * @param result the array receiving the arguments.
+     * @return the result array.
+     */
+    public double[] getArgument(long from, double[] result) {
+        for (int k = 0; k < result.length; k++) {
+            result[k] = Math.atan2(getImaginaryPart(from + k) + 0.0, getRealPart(from + k) + 0.0);
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the imaginary part of the element at the given index.
+     * 
+     * @param index the index of the element.
+     * @return the imaginary part.
+     */
+    public double getImaginaryPart(long index) {
+        long global = checkIndex(index);
+        return chunks[(int) (global >>> CHUNK_SHIFT)].get((int) ((global & MASK) * 2) + 1);
+    }
+
+    /**
+     * This method writes the magnitudes (absolute values) of consecutive elements
+     * of this vector into the given array.
+     * 
+     * @param from   the index of the first element.
+     * @param result the array receiving the magnitudes.
+     * @return the result array.
+     */
+    public double[] getMagnitude(long from, double[] result) {
+        for (int k = 0; k < result.length; k++) {
+            result[k] = Complex.magnitude(getRealPart(from + k), getImaginaryPart(from + k));
+        }
+        return result;
+    }
+
+    /**
+     * This method returns the real part of the element at the given index.
+     * 
+     * @param index the index of the element.
+     * @return the real part.
+     */
+    public double getRealPart(long index) {
+        long global = checkIndex(index);
+        return chunks[(int) (global >>> CHUNK_SHIFT)].get((int) ((global & MASK) * 2));
+    }
+
+    /**
+     * This method returns the number of elements of this vector.
+     * 
+     * @return the number of elements.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * This method multiplies this vector by another one element by element, in
+     * place.
+     * 
+     * @param vector the complex vector to multiply by.
+     * @return this vector.
+     */
+    public OffHeapComplexVector multiplyInPlace(OffHeapComplexVector vector) {
+        return multiply(this, vector, this);
+    }
+
+    /**
+     * This method copies consecutive elements of this vector, starting at from,
+     * into a complex array, which is filled.
+     * 
+     * @param from   the index of the first element.
+     * @param target the complex array receiving the elements.
+     * @return the target array.
+     */
+    public ComplexArray read(long from, ComplexArray target) {
+        double[] real = target.getRealParts(), imaginary = target.getImaginaryParts();
+        checkRange(from, target.length());
+        for (int k = 0; k < real.length;) {
+            long global = offset + from + k;
+            DoubleBuffer chunk = chunks[(int) (global >>> CHUNK_SHIFT)];
+            int position = (int) ((global & MASK) * 2);
+            int count = (int) Math.min(real.length - k, CHUNK - (global & MASK));
+            for (int j = 0; j < count; j++, k++) {
+                real[k] = chunk.get(position++);
+                imaginary[k] = chunk.get(position++);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * This method replaces the element at the given index by a complex number.
+     * 
+     * @param index  the index of the element.
+     * @param number the new value.
+     */
+    public void set(long index, Complex number) {
+        set(index, number.getRealPart(), number.getImaginaryPart());
+    }
+
+    /**
+     * This method replaces the element at the given index by the complex number
+     * real + imaginary i.
+     * 
+     * @param index     the index of the element.
+     * @param real      the new real part.
+     * @param imaginary the new imaginary part.
+     */
+    public void set(long index, double real, double imaginary) {
+        long global = checkIndex(index);
+        DoubleBuffer chunk = chunks[(int) (global >>> CHUNK_SHIFT)];
+        int position = (int) ((global & MASK) * 2);
+        chunk.put(position, real);
+        chunk.put(position + 1, imaginary);
+    }
+
+    /**
+     * This method returns a view of the elements of this vector from from
+     * inclusive to to exclusive. The view shares the storage of this vector:
+     * nothing is copied, and changes made through either are visible in both.
+     * 
+     * @param from the index of the first element of the view.
+     * @param to   the index following the last element of the view.
+     * @return a new off-heap complex vector viewing the slice.
+     */
+    public OffHeapComplexVector slice(long from, long to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Slice [" + from + ", " + to + ") out of [0, " + length + ")");
+        }
+        return new OffHeapComplexVector(chunks, offset + from, to - from);
+    }
+
+    /**
+     * This method copies the elements of a complex array into this vector,
+     * starting at from.
+     * 
+     * @param from   the index of the first element to replace.
+     * @param source the complex array holding the elements.
+     */
+    public void write(long from, ComplexArray source) {
+        double[] real = source.getRealParts(), imaginary = source.getImaginaryParts();
+        checkRange(from, source.length());
+        for (int k = 0; k < real.length;) {
+            long global = offset + from + k;
+            DoubleBuffer chunk = chunks[(int) (global >>> CHUNK_SHIFT)];
+            int position = (int) ((global & MASK) * 2);
+            int count = (int) Math.min(real.length - k, CHUNK - (global & MASK));
+            for (int j = 0; j < count; j++, k++) {
+                chunk.put(position++, real[k]);
+                chunk.put(position++, imaginary[k]);
+            }
+        }
+    }
+
+    private long checkIndex(long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of [0, " + length + ")");
+        }
+        return offset + index;
+    }
+
+    private void checkRange(long from, long size) {
+        if (from < 0 || size > length - from) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + (from + size) + ") out of [0, "
+                                                + length + ")");
+        }
+    }
+
+}
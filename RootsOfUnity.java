@@ -0,0 +1,50 @@
+package edev.complex;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class holds the nth roots of unity, w^k = cos(2 pi k / n) + i sin(2 pi k
+ * / n) for k from 0 to n - 1. Tables are immutable and shared: orders up to
+ * {@value #MAX_CACHED_ORDER} are kept in a bounded cache, larger ones are built
+ * for the caller only.
+ *
+ * @author Ezeqèl
+ */
+final class RootsOfUnity {
+
+    private static final int MAX_CACHED_ORDER = 1 << 16;
+
+    private static final int MAX_TABLES = 64;
+
+    private static final Map<Integer, RootsOfUnity> TABLES = new ConcurrentHashMap<>();
+
+    static RootsOfUnity of(int n) {
+        if (n > MAX_CACHED_ORDER) {
+            return new RootsOfUnity(n);
+        }
+        RootsOfUnity table = TABLES.get(n);
+        if (table == null) {
+            if (TABLES.size() >= MAX_TABLES) {
+                TABLES.clear();
+            }
+            table = TABLES.computeIfAbsent(n, RootsOfUnity::new);
+        }
+        return table;
+    }
+
+    final double[] cos;
+
+    final double[] sin;
+
+    private RootsOfUnity(int n) {
+        cos = new double[n];
+        sin = new double[n];
+        for (int k = 0; k < n; k++) {
+            double angle = (2.0 * Math.PI * k) / n;
+            cos[k] = Math.cos(angle);
+            sin[k] = Math.sin(angle);
+        }
+    }
+
+}
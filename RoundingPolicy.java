@@ -0,0 +1,96 @@
+package edev.complex;
+
+/**
+ * This interface represents the rounding applied to the real and imaginary
+ * parts of every {@link Complex} when it is constructed. A policy is a pure
+ * function of its argument: it keeps no mutable state, so a single instance can
+ * be shared by any number of threads, and none of the built-in policies
+ * allocates while rounding.
+ * 
+ * @author Ezeqèl
+ */
+@FunctionalInterface
+public interface RoundingPolicy {
+
+    /**
+     * The policy that keeps every value exactly as computed.
+     */
+    static final RoundingPolicy EXACT = value -> value;
+
+    /**
+     * The default policy, which rounds every value to ten decimal places.
+     */
+    static final RoundingPolicy DEFAULT = decimalPlaces(10);
+
+    /**
+     * This static method returns a policy that rounds a value to the given number
+     * of decimal places, ties going to the even neighbour. The rounding is done
+     * arithmetically, without going through a String. Values too large to carry
+     * that many decimal places, infinities and NaN are returned unchanged.
+     * 
+     * @param places the number of decimal places to keep, between 0 and 15.
+     * @return a policy rounding to the given number of decimal places.
+     */
+    static RoundingPolicy decimalPlaces(int places) {
+        if (places < 0 || places > 15) {
+            throw new IllegalArgumentException("Decimal places must be between 0 and 15: " + places);
+        }
+        final double scale = Math.pow(10, places);
+        final double limit = 0x1p52 / scale;
+        return value -> {
+            if (!(Math.abs(value) < limit)) {
+                return value;
+            }
+            return Math.rint(value * scale) / scale;
+        };
+    }
+
+    /**
+     * This static method returns a policy that snaps a value to the nearest
+     * integer when it lies within epsilon of it, and leaves it untouched
+     * otherwise. It clears the noise left by floating-point arithmetic (such as
+     * 6.123233995736766E-17 instead of 0) without giving up any precision on the
+     * other values.
+     * 
+     * @param epsilon the non-negative snapping tolerance.
+     * @return a policy snapping values within epsilon of an integer.
+     */
+    static RoundingPolicy epsilon(double epsilon) {
+        if (!(epsilon >= 0)) {
+            throw new IllegalArgumentException("Epsilon must be non-negative: " + epsilon);
+        }
+        return value -> {
+            double nearest = Math.rint(value);
+            return Math.abs(value - nearest) <= epsilon ? nearest : value;
+        };
+    }
+
+    /**
+     * This static method returns a policy that snaps a value to the nearest
+     * integer when it lies within the given number of units in the last place of
+     * it (or of one, for values close to zero), and leaves it untouched otherwise.
+     * Unlike {@link #epsilon(double)} the tolerance scales with the magnitude of
+     * the value.
+     * 
+     * @param ulps the non-negative snapping tolerance, in units in the last place.
+     * @return a policy snapping values within ulps units in the last place of an
+     *         integer.
+     */
+    static RoundingPolicy ulps(int ulps) {
+        if (ulps < 0) {
+            throw new IllegalArgumentException("Ulps must be non-negative: " + ulps);
+        }
+        return value -> {
+            double nearest = Math.rint(value);
+            return Math.abs(value - nearest) <= ulps * Math.ulp(Math.max(Math.abs(nearest), 1.0)) ? nearest : value;
+        };
+    }
+
+    /**
+     * This method rounds a value according to this policy.
+     * 
+     * @param value the value to be rounded.
+     * @return the rounded value.
+     */
+    double round(double value);
+}
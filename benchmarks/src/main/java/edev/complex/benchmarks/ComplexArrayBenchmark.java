@@ -0,0 +1,198 @@
+package edev.complex.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.Complex;
+import edev.complex.ComplexAccumulator;
+import edev.complex.ComplexArray;
+
+/**
+ * This class measures the bulk operations of {@link ComplexArray}, in
+ * microseconds per pass over the whole array, against the same pass over a
+ * {@code List<Complex>}.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexArrayBenchmark {
+
+    @Param({ "1024", "65536" })
+    private int size;
+
+    private ComplexArray array1;
+
+    private ComplexArray array2;
+
+    private List<Complex> list1;
+
+    private List<Complex> list2;
+
+    private double[] doubles;
+
+    private double[] doubles2;
+
+    private ComplexArray result;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        array1 = new ComplexArray(size);
+        array2 = new ComplexArray(size);
+        list1 = new ArrayList<>(size);
+        list2 = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            array1.set(i, random.nextGaussian(), random.nextGaussian());
+            array2.set(i, random.nextGaussian(), random.nextGaussian() + 0.5);
+            list1.add(array1.get(i));
+            list2.add(array2.get(i));
+        }
+        doubles = new double[size];
+        doubles2 = new double[size];
+        result = new ComplexArray(size);
+    }
+
+    @Benchmark
+    public ComplexArray add() {
+        return ComplexArray.add(array1, array2, result);
+    }
+
+    @Benchmark
+    public List<Complex> addList() {
+        List<Complex> sums = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sums.add(list1.get(i)
+                          .add(list2.get(i)));
+        }
+        return sums;
+    }
+
+    @Benchmark
+    public double[] approximateArgument() {
+        return array1.getApproximateArgument(doubles);
+    }
+
+    @Benchmark
+    public double[] argument() {
+        return array1.getArgument(doubles);
+    }
+
+    @Benchmark
+    public ComplexArray conjugate() {
+        return ComplexArray.getConjugate(array1, result);
+    }
+
+    @Benchmark
+    public ComplexArray divide() {
+        return ComplexArray.divide(array1, array2, result);
+    }
+
+    @Benchmark
+    public ComplexArray exp() {
+        return ComplexArray.exp(array1, result);
+    }
+
+    @Benchmark
+    public List<Complex> expList() {
+        List<Complex> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(list1.get(i)
+                            .exp());
+        }
+        return values;
+    }
+
+    @Benchmark
+    public ComplexArray fromPolar() {
+        return ComplexArray.fromPolar(doubles, doubles, result);
+    }
+
+    @Benchmark
+    public double[] magnitude() {
+        return array1.getMagnitude(doubles);
+    }
+
+    @Benchmark
+    public ComplexArray log() {
+        return ComplexArray.log(array2, result);
+    }
+
+    @Benchmark
+    public ComplexArray multiply() {
+        return ComplexArray.multiply(array1, array2, result);
+    }
+
+    @Benchmark
+    public List<Complex> multiplyList() {
+        List<Complex> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(list1.get(i)
+                              .multiply(list2.get(i)));
+        }
+        return products;
+    }
+
+    @Benchmark
+    public ComplexArray reciprocal() {
+        return ComplexArray.reciprocal(array2, result);
+    }
+
+    @Benchmark
+    public ComplexArray sin() {
+        return ComplexArray.sin(array1, result);
+    }
+
+    @Benchmark
+    public ComplexArray sqrt() {
+        return ComplexArray.sqrt(array1, result);
+    }
+
+    @Benchmark
+    public ComplexArray subtract() {
+        return ComplexArray.subtract(array1, array2, result);
+    }
+
+    @Benchmark
+    public Complex sumAccumulator() {
+        ComplexAccumulator sum = new ComplexAccumulator();
+        for (int i = 0; i < size; i++) {
+            sum.addInPlace(list1.get(i));
+        }
+        return sum.toComplex();
+    }
+
+    @Benchmark
+    public Complex sumList() {
+        Complex sum = Complex.ZERO;
+        for (int i = 0; i < size; i++) {
+            sum = sum.add(list1.get(i));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[] toPolar() {
+        array1.toPolar(doubles, doubles2);
+        return doubles2;
+    }
+
+}
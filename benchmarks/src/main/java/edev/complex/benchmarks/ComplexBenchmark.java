@@ -0,0 +1,239 @@
+package edev.complex.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.Complex;
+import edev.complex.ComplexFormat;
+
+/**
+ * This class measures the cost of every public operation of {@link Complex} on
+ * a single thread, in nanoseconds per operation. Run it with {@code -prof gc}
+ * to also get the allocation rate.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexBenchmark {
+
+    private StringBuilder builder;
+
+    private Complex exponent;
+
+    private String externalForm;
+
+    private Complex number1;
+
+    private Complex number2;
+
+    private double real;
+
+    private double imaginary;
+
+    private double value;
+
+    @Setup
+    public void setup() {
+        real = -3.25;
+        imaginary = 4.5;
+        value = 1.75;
+        number1 = new Complex(real, imaginary);
+        number2 = new Complex(1.5, -2.25);
+        exponent = new Complex(0.5, 0.25);
+        builder = new StringBuilder(64);
+        externalForm = number1.toString();
+    }
+
+    @Benchmark
+    public Complex add() {
+        return number1.add(number2);
+    }
+
+    @Benchmark
+    public Complex addReal() {
+        return number1.add(value);
+    }
+
+    @Benchmark
+    public Complex construct() {
+        return new Complex(real, imaginary);
+    }
+
+    @Benchmark
+    public Complex cos() {
+        return number1.cos();
+    }
+
+    @Benchmark
+    public Complex divide() {
+        return number1.divide(number2);
+    }
+
+    @Benchmark
+    public Complex divideReal() {
+        return number1.divide(value);
+    }
+
+    @Benchmark
+    public boolean equals() {
+        return number1.equals(number2);
+    }
+
+    @Benchmark
+    public Complex exp() {
+        return number1.exp();
+    }
+
+    @Benchmark
+    public StringBuilder format() {
+        builder.setLength(0);
+        return ComplexFormat.format(number1, builder);
+    }
+
+    @Benchmark
+    public double getApproximateArgument() {
+        return number1.getApproximateArgument();
+    }
+
+    @Benchmark
+    public double getArgument() {
+        return number1.getArgument();
+    }
+
+    @Benchmark
+    public Complex getConjugate() {
+        return number1.getConjugate();
+    }
+
+    @Benchmark
+    public double getMagnitude() {
+        return number1.getMagnitude();
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return number1.hashCode();
+    }
+
+    @Benchmark
+    public Complex inverse() {
+        return number1.inverse();
+    }
+
+    @Benchmark
+    public Complex log() {
+        return number1.log();
+    }
+
+    @Benchmark
+    public Complex multiply() {
+        return number1.multiply(number2);
+    }
+
+    @Benchmark
+    public Complex multiplyReal() {
+        return number1.multiply(value);
+    }
+
+    @Benchmark
+    public List<Complex> nthRoots() {
+        return number1.nthRoots(16);
+    }
+
+    @Benchmark
+    public Complex parse() {
+        return Complex.parse(externalForm);
+    }
+
+    @Benchmark
+    public Complex powerComplex() {
+        return number1.power(exponent);
+    }
+
+    @Benchmark
+    public Complex powerLarge() {
+        return number2.power(1000);
+    }
+
+    @Benchmark
+    public Complex powerNegative() {
+        return number2.power(-7);
+    }
+
+    @Benchmark
+    public Complex powerReal() {
+        return number1.power(value);
+    }
+
+    @Benchmark
+    public Complex powerSmall() {
+        return number2.power(7);
+    }
+
+    @Benchmark
+    public List<Complex> powers() {
+        return number2.powers(16);
+    }
+
+    @Benchmark
+    public Complex sin() {
+        return number1.sin();
+    }
+
+    @Benchmark
+    public Complex sqrt() {
+        return number1.sqrt();
+    }
+
+    @Benchmark
+    public List<Complex> squareRoot() {
+        return number1.squareRoot();
+    }
+
+    @Benchmark
+    public Complex subtract() {
+        return number1.subtract(number2);
+    }
+
+    @Benchmark
+    public Complex subtractReal() {
+        return number1.subtract(value);
+    }
+
+    @Benchmark
+    public Complex tan() {
+        return number1.tan();
+    }
+
+    @Benchmark
+    public String toStringForm() {
+        return number1.toString();
+    }
+
+    @Benchmark
+    public Complex valueOf() {
+        return Complex.valueOf(real, imaginary);
+    }
+
+    @Benchmark
+    public Complex valueOfGaussian() {
+        return Complex.valueOf(3, -4);
+    }
+
+}
@@ -0,0 +1,114 @@
+package edev.complex.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.Complex;
+import edev.complex.ComplexAccumulator;
+import edev.complex.ComplexArray;
+import edev.complex.ComplexExpression;
+
+/**
+ * This class measures {@link ComplexExpression} against the eager chain of
+ * {@link Complex} calls it replaces, ((a b + c) / d)^3, in nanoseconds per
+ * operation, for one point and for an array of 4096 points.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexExpressionBenchmark {
+
+    private ComplexAccumulator accumulator;
+
+    private Complex a;
+
+    private Complex b;
+
+    private Complex c;
+
+    private Complex d;
+
+    private ComplexExpression expression;
+
+    private Complex[] numbers;
+
+    private ComplexArray points;
+
+    private ComplexArray result;
+
+    private Complex[] results;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        a = new Complex(0.6, -0.7);
+        b = new Complex(1.5, -2.25);
+        c = new Complex(0.25, 3);
+        d = new Complex(-0.5, 0.75);
+        expression = ComplexExpression.variable()
+                                      .multiply(b)
+                                      .add(c)
+                                      .divide(d)
+                                      .power(3);
+        accumulator = new ComplexAccumulator();
+        points = new ComplexArray(4096);
+        numbers = new Complex[points.length()];
+        for (int i = 0; i < points.length(); i++) {
+            points.set(i, random.nextGaussian(), random.nextGaussian());
+            numbers[i] = points.get(i);
+        }
+        result = new ComplexArray(points.length());
+        results = new Complex[points.length()];
+    }
+
+    @Benchmark
+    public Complex eager() {
+        return a.multiply(b)
+                .add(c)
+                .divide(d)
+                .power(3);
+    }
+
+    @Benchmark
+    public Complex[] eagerArray() {
+        for (int i = 0; i < numbers.length; i++) {
+            results[i] = numbers[i].multiply(b)
+                                   .add(c)
+                                   .divide(d)
+                                   .power(3);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public Complex evaluate() {
+        return expression.evaluate(a);
+    }
+
+    @Benchmark
+    public ComplexAccumulator evaluateAccumulator() {
+        return expression.evaluate(a.getRealPart(), a.getImaginaryPart(), accumulator);
+    }
+
+    @Benchmark
+    public ComplexArray evaluateArray() {
+        return expression.evaluate(points, result);
+    }
+
+}
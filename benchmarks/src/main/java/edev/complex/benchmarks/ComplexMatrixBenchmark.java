@@ -0,0 +1,93 @@
+package edev.complex.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.ComplexArray;
+import edev.complex.ComplexMatrix;
+
+/**
+ * This class measures the kernels of {@link ComplexMatrix} on square matrices,
+ * in milliseconds per operation. A product of size n takes 8 n^3 floating-point
+ * operations, which gives the achieved GFLOP/s.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexMatrixBenchmark {
+
+    @Param({ "128", "1024" })
+    private int size;
+
+    private ComplexMatrix matrix1;
+
+    private ComplexMatrix matrix2;
+
+    private ComplexMatrix product;
+
+    private ComplexArray vector;
+
+    private ComplexArray result;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        matrix1 = new ComplexMatrix(size, size);
+        matrix2 = new ComplexMatrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix1.set(i, j, random.nextGaussian(), random.nextGaussian());
+                matrix2.set(i, j, random.nextGaussian(), random.nextGaussian());
+            }
+        }
+        product = new ComplexMatrix(size, size);
+        vector = new ComplexArray(size);
+        for (int i = 0; i < size; i++) {
+            vector.set(i, random.nextGaussian(), random.nextGaussian());
+        }
+        result = new ComplexArray(size);
+    }
+
+    @Benchmark
+    public ComplexMatrix.LUDecomposition decomposeLU() {
+        return matrix1.decomposeLU();
+    }
+
+    @Benchmark
+    public ComplexMatrix.QRDecomposition decomposeQR() {
+        return matrix1.decomposeQR();
+    }
+
+    @Benchmark
+    public ComplexMatrix multiply() {
+        return ComplexMatrix.multiply(matrix1, matrix2, product);
+    }
+
+    @Benchmark
+    public ComplexArray multiplyVector() {
+        return ComplexMatrix.multiply(matrix1, vector, result);
+    }
+
+    @Benchmark
+    public ComplexArray solve() {
+        return matrix1.solve(vector);
+    }
+
+}
@@ -0,0 +1,72 @@
+package edev.complex.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.Complex;
+import edev.complex.ComplexMetrics;
+
+/**
+ * This class measures the overhead of instrumentation: it runs a few operations
+ * of {@link Complex} with metrics turned on and sent to a
+ * {@link ComplexMetrics.Recorder}, to be compared with the same operations in
+ * {@link ComplexBenchmark}, where metrics are off.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dedev.complex.metrics=true")
+@State(Scope.Thread)
+public class ComplexMetricsBenchmark {
+
+    private Complex number1;
+
+    private Complex number2;
+
+    @Setup
+    public void setup() {
+        Complex.setMetrics(new ComplexMetrics.Recorder());
+        number1 = new Complex(-3.25, 4.5);
+        number2 = new Complex(1.5, -2.25);
+    }
+
+    @Benchmark
+    public Complex divide() {
+        return number1.divide(number2);
+    }
+
+    @Benchmark
+    public Complex exp() {
+        return number1.exp();
+    }
+
+    @Benchmark
+    public Complex multiply() {
+        return number1.multiply(number2);
+    }
+
+    @Benchmark
+    public List<Complex> nthRoots() {
+        return number1.nthRoots(16);
+    }
+
+    @Benchmark
+    public Complex powerSmall() {
+        return number2.power(7);
+    }
+
+}
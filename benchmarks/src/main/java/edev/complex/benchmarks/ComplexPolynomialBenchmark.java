@@ -0,0 +1,102 @@
+package edev.complex.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.Complex;
+import edev.complex.ComplexAccumulator;
+import edev.complex.ComplexArray;
+import edev.complex.ComplexPolynomial;
+
+/**
+ * This class measures {@link ComplexPolynomial}, in microseconds per
+ * operation: Horner evaluation against chained {@link Complex#power(int)}
+ * calls, evaluation over many points, multiplication and root finding.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexPolynomialBenchmark {
+
+    @Param({ "16", "256" })
+    private int degree;
+
+    private ComplexAccumulator accumulator;
+
+    private Complex[] coefficients;
+
+    private Complex point;
+
+    private ComplexArray points;
+
+    private ComplexPolynomial polynomial;
+
+    private ComplexArray result;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        double[] real = new double[degree + 1], imaginary = new double[degree + 1];
+        coefficients = new Complex[degree + 1];
+        for (int k = 0; k <= degree; k++) {
+            real[k] = random.nextGaussian();
+            imaginary[k] = random.nextGaussian();
+            coefficients[k] = new Complex(real[k], imaginary[k]);
+        }
+        polynomial = new ComplexPolynomial(real, imaginary);
+        point = new Complex(0.6, -0.7);
+        points = new ComplexArray(4096);
+        for (int i = 0; i < points.length(); i++) {
+            points.set(i, random.nextGaussian() * 0.5, random.nextGaussian() * 0.5);
+        }
+        result = new ComplexArray(points.length());
+        accumulator = new ComplexAccumulator();
+    }
+
+    @Benchmark
+    public ComplexAccumulator evaluate() {
+        return polynomial.evaluate(point.getRealPart(), point.getImaginaryPart(), accumulator);
+    }
+
+    @Benchmark
+    public ComplexArray evaluateArray() {
+        return polynomial.evaluate(points, result);
+    }
+
+    @Benchmark
+    public Complex evaluatePowers() {
+        Complex sum = Complex.ZERO;
+        for (int k = 0; k <= degree; k++) {
+            sum = sum.add(coefficients[k].multiply(point.power(k)));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public ComplexPolynomial multiply() {
+        return polynomial.multiply(polynomial);
+    }
+
+    @Benchmark
+    public ComplexArray roots() {
+        return polynomial.roots();
+    }
+
+}
@@ -0,0 +1,84 @@
+package edev.complex.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.Complex;
+import edev.complex.ComplexArray;
+import edev.complex.ComplexReductions;
+
+/**
+ * This class measures the parallel reductions of {@link ComplexReductions}, in
+ * microseconds per reduction, against a sequential chain of
+ * {@link Complex#add(Complex, Complex)}.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexReductionsBenchmark {
+
+    @Param({ "65536", "4194304" })
+    private int size;
+
+    private ComplexArray array1;
+
+    private ComplexArray array2;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        array1 = new ComplexArray(size);
+        array2 = new ComplexArray(size);
+        for (int i = 0; i < size; i++) {
+            array1.set(i, random.nextGaussian(), random.nextGaussian());
+            array2.set(i, random.nextGaussian(), random.nextGaussian());
+        }
+    }
+
+    @Benchmark
+    public Complex dot() {
+        return ComplexReductions.dot(array1, array2);
+    }
+
+    @Benchmark
+    public int indexOfMaxMagnitude() {
+        return ComplexReductions.indexOfMaxMagnitude(array1);
+    }
+
+    @Benchmark
+    public double norm2() {
+        return ComplexReductions.norm2(array1);
+    }
+
+    @Benchmark
+    public Complex sum() {
+        return ComplexReductions.sum(array1);
+    }
+
+    @Benchmark
+    public Complex sumSequential() {
+        Complex sum = Complex.ZERO;
+        for (int i = 0; i < size; i++) {
+            sum = Complex.add(sum, array1.get(i));
+        }
+        return sum;
+    }
+
+}
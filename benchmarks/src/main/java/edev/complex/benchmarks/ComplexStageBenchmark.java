@@ -0,0 +1,145 @@
+package edev.complex.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.Complex;
+import edev.complex.ComplexArray;
+import edev.complex.ComplexBlockPool;
+import edev.complex.ComplexStage;
+
+/**
+ * This class measures the kernels of {@link ComplexStage} on a block of 4096
+ * samples, mixing against the same product written with {@link Complex}
+ * objects, and a whole mix, filter, decimate and magnitude pipeline streaming
+ * 64 blocks, in microseconds per operation.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplexStageBenchmark {
+
+    private static final int BLOCK_LENGTH = 4096;
+
+    private static final int BLOCKS = 64;
+
+    private ComplexArray block;
+
+    private ComplexStage.Kernel decimate;
+
+    private ComplexArray decimated;
+
+    private ComplexStage.Kernel fir;
+
+    private ComplexStage.Kernel magnitude;
+
+    private ComplexStage.Kernel mix;
+
+    private Complex[] phasors;
+
+    private ComplexArray result;
+
+    private Complex[] results;
+
+    private Complex[] samples;
+
+    private ComplexArray taps;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        block = new ComplexArray(BLOCK_LENGTH);
+        samples = new Complex[BLOCK_LENGTH];
+        phasors = new Complex[BLOCK_LENGTH];
+        for (int i = 0; i < BLOCK_LENGTH; i++) {
+            block.set(i, random.nextGaussian(), random.nextGaussian());
+            samples[i] = block.get(i);
+            phasors[i] = Complex.fromPolar(1, 2 * Math.PI * 0.01 * i);
+        }
+        taps = new ComplexArray(31);
+        for (int k = 0; k < taps.length(); k++) {
+            taps.set(k, random.nextGaussian(), 0);
+        }
+        result = new ComplexArray(BLOCK_LENGTH);
+        results = new Complex[BLOCK_LENGTH];
+        decimated = new ComplexArray(BLOCK_LENGTH / 8);
+        mix = ComplexStage.mix(0.01);
+        fir = ComplexStage.fir(taps);
+        decimate = ComplexStage.decimate(8);
+        magnitude = ComplexStage.magnitude();
+    }
+
+    @Benchmark
+    public ComplexArray decimate() {
+        decimate.process(block, decimated);
+        return decimated;
+    }
+
+    @Benchmark
+    public ComplexArray fir() {
+        fir.process(block, result);
+        return result;
+    }
+
+    @Benchmark
+    public ComplexArray magnitude() {
+        magnitude.process(block, result);
+        return result;
+    }
+
+    @Benchmark
+    public ComplexArray mix() {
+        mix.process(block, result);
+        return result;
+    }
+
+    @Benchmark
+    public Complex[] mixObjects() {
+        for (int i = 0; i < BLOCK_LENGTH; i++) {
+            results[i] = samples[i].multiply(phasors[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public void pipeline() {
+        ForkJoinPool executor = ForkJoinPool.commonPool();
+        ComplexBlockPool pool = new ComplexBlockPool(BLOCK_LENGTH, 16);
+        SubmissionPublisher<ComplexArray> source = new SubmissionPublisher<>(executor, 8);
+        ComplexStage first = new ComplexStage(pool, ComplexStage.mix(0.01), executor, 8);
+        source.subscribe(first);
+        CompletableFuture<Void> done = first.then(ComplexStage.fir(taps))
+                                            .then(ComplexStage.decimate(8))
+                                            .then(ComplexStage.magnitude())
+                                            .consume(output -> {
+                                            });
+        for (int b = 0; b < BLOCKS; b++) {
+            ComplexArray input = pool.acquire();
+            System.arraycopy(block.getRealParts(), 0, input.getRealParts(), 0, BLOCK_LENGTH);
+            System.arraycopy(block.getImaginaryParts(), 0, input.getImaginaryParts(), 0, BLOCK_LENGTH);
+            source.submit(input);
+        }
+        source.close();
+        done.join();
+    }
+
+}
@@ -0,0 +1,171 @@
+package edev.complex.benchmarks;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edev.complex.Complex;
+import edev.complex.FourierTransform;
+import edev.complex.RoundingPolicy;
+
+/**
+ * This class stress-tests the thread-safety guarantees of {@link Complex}. It
+ * warms up on one thread, then runs the same mix of operations with 1, 2, 4,
+ * ... threads up to the number of available cores, each step for a fixed time,
+ * and checks every result against a value recomputed on the calling thread:
+ * the constructor and its rounding, {@code toString()} and {@code parse} round
+ * trips, the {@code valueOf} cache, {@code hashCode}, multiplication, the
+ * shared roots of unity behind {@code nthRoots} and the shared plans of
+ * {@link FourierTransform}. It prints the throughput of each step and its
+ * speedup over one thread, which should grow linearly with the number of
+ * threads, and exits with status 1 if any result was corrupted.<br/>
+ * Usage: {@code java -cp target/benchmarks.jar
+ * edev.complex.benchmarks.ComplexStress [seconds per step] [max threads]}.
+ *
+ * @author Ezeqèl
+ */
+public final class ComplexStress {
+
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private static final int STRIDE = 16;
+
+    private static final Queue<String> FAILURES = new ConcurrentLinkedQueue<>();
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                                         : Runtime.getRuntime()
+                                                  .availableProcessors();
+        RoundingPolicy policy = Complex.getRoundingPolicy();
+        double baseline = 0;
+        long failures = 0;
+        run(1, seconds, policy, new long[STRIDE]);
+        System.out.printf("%8s %16s %8s %10s %9s%n", "threads", "checks/s", "speedup", "efficiency", "failures");
+        for (int threads = 1;; threads = Math.min(2 * threads, maxThreads)) {
+            long[] counts = new long[STRIDE * threads];
+            run(threads, seconds, policy, counts);
+            long checks = 0, stepFailures = 0;
+            for (int t = 0; t < threads; t++) {
+                checks += counts[STRIDE * t];
+                stepFailures += counts[(STRIDE * t) + 1];
+            }
+            double rate = checks / (double) seconds;
+            if (threads == 1) {
+                baseline = rate;
+            }
+            System.out.printf("%8d %16.0f %8.2f %9.0f%% %9d%n", threads, rate, rate / baseline,
+                              (100 * rate) / (baseline * threads), stepFailures);
+            failures += stepFailures;
+            if (threads >= maxThreads) {
+                break;
+            }
+        }
+        if (failures > 0) {
+            System.out.println(failures + " corrupted results, first ones:");
+            FAILURES.forEach(System.out::println);
+            System.exit(1);
+        }
+        System.out.println("No corrupted results");
+    }
+
+    private static void record(long[] counts, int slot, String failure) {
+        counts[slot + 1]++;
+        if (FAILURES.size() < MAX_REPORTED_FAILURES) {
+            FAILURES.add(failure);
+        }
+    }
+
+    private static void run(int threads, int seconds, RoundingPolicy policy, long[] counts)
+        throws InterruptedException {
+        long deadline = System.nanoTime() + (seconds * 1_000_000_000L);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int slot = STRIDE * t;
+            workers[t] = new Thread(() -> {
+                long checks = 0;
+                do {
+                    for (int i = 0; i < 1024; i++) {
+                        check(policy, counts, slot);
+                    }
+                    checks += 1024;
+                } while (System.nanoTime() < deadline);
+                counts[slot] = checks;
+            }, "complex-stress-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private static void check(RoundingPolicy policy, long[] counts, int slot) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double real = random.nextBoolean() ? random.nextInt(-20, 21) : random.nextDouble(-1e6, 1e6);
+        double imaginary = random.nextBoolean() ? random.nextInt(-20, 21) : random.nextDouble(-1e3, 1e3);
+        Complex number = new Complex(real, imaginary);
+        double a = policy.round(real), b = policy.round(imaginary);
+        if (Double.compare(number.getRealPart(), a) != 0 || Double.compare(number.getImaginaryPart(), b) != 0) {
+            record(counts, slot, "new Complex(" + real + ", " + imaginary + ") gave " + number);
+            return;
+        }
+        String text = number.toString();
+        Complex parsed = Complex.parse(text);
+        if (!parsed.equals(number)) {
+            record(counts, slot, "parse(\"" + text + "\") gave " + parsed + " instead of " + a + ", " + b);
+        }
+        Complex shared = Complex.valueOf(real, imaginary);
+        if (!shared.equals(number) || shared.hashCode() != number.hashCode()) {
+            record(counts, slot, "valueOf(" + real + ", " + imaginary + ") gave " + shared);
+        }
+        Complex other = new Complex(imaginary, real);
+        double c = policy.round(imaginary), d = policy.round(real);
+        Complex product = number.multiply(other);
+        if (Double.compare(product.getRealPart(), policy.round((a * c) - (b * d))) != 0
+            || Double.compare(product.getImaginaryPart(), policy.round((a * d) + (b * c))) != 0) {
+            record(counts, slot, number + " * " + other + " gave " + product);
+        }
+        if ((a != 0 || b != 0) && random.nextInt(16) == 0) {
+            checkRoots(number, random.nextInt(1, 257), counts, slot);
+        }
+        if (random.nextInt(256) == 0) {
+            checkTransform(random.nextInt(2, 1025), random, counts, slot);
+        }
+    }
+
+    private static void checkRoots(Complex number, int n, long[] counts, int slot) {
+        double[] real = new double[n], imaginary = new double[n];
+        number.nthRoots(n, real, imaginary);
+        double scale = Math.hypot(real[0], imaginary[0]);
+        for (int k = 1; k < n; k++) {
+            double angle = (2 * Math.PI * k) / n;
+            double expectedReal = (real[0] * Math.cos(angle)) - (imaginary[0] * Math.sin(angle));
+            double expectedImaginary = (real[0] * Math.sin(angle)) + (imaginary[0] * Math.cos(angle));
+            if (Math.hypot(real[k] - expectedReal, imaginary[k] - expectedImaginary) > 1e-12 * scale) {
+                record(counts, slot, "root " + k + " of order " + n + " of " + number + " is wrong");
+                return;
+            }
+        }
+    }
+
+    private static void checkTransform(int n, ThreadLocalRandom random, long[] counts, int slot) {
+        double[] real = new double[n], imaginary = new double[n];
+        for (int k = 0; k < n; k++) {
+            real[k] = random.nextGaussian();
+            imaginary[k] = random.nextGaussian();
+        }
+        double[] originalReal = real.clone(), originalImaginary = imaginary.clone();
+        FourierTransform.forward(real, imaginary);
+        FourierTransform.inverse(real, imaginary);
+        for (int k = 0; k < n; k++) {
+            if (Math.abs(real[k] - originalReal[k]) + Math.abs(imaginary[k] - originalImaginary[k]) > 1e-9) {
+                record(counts, slot, "Fourier transform round trip of size " + n + " is wrong");
+                return;
+            }
+        }
+    }
+
+    private ComplexStress() {
+    }
+
+}
@@ -0,0 +1,74 @@
+package edev.complex.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.Complex;
+
+/**
+ * This class measures the throughput of the most common operations of
+ * {@link Complex} with one thread per available core. Compare it with a run
+ * using {@code -t 1} to see how the library scales across cores.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Thread)
+public class ComplexThroughputBenchmark {
+
+    private double real = -3.25;
+
+    private double imaginary = 4.5;
+
+    private Complex number1 = new Complex(real, imaginary);
+
+    private Complex number2 = new Complex(1.5, -2.25);
+
+    private String externalForm = number1.toString();
+
+    @Benchmark
+    public Complex construct() {
+        return new Complex(real, imaginary);
+    }
+
+    @Benchmark
+    public Complex divide() {
+        return number1.divide(number2);
+    }
+
+    @Benchmark
+    public Complex multiply() {
+        return number1.multiply(number2);
+    }
+
+    @Benchmark
+    public Complex parse() {
+        return Complex.parse(externalForm);
+    }
+
+    @Benchmark
+    public String toStringForm() {
+        return number1.toString();
+    }
+
+    @Benchmark
+    public Complex valueOf() {
+        return Complex.valueOf(real, imaginary);
+    }
+
+}
@@ -0,0 +1,75 @@
+package edev.complex.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.ComplexArray;
+import edev.complex.FourierTransform;
+
+/**
+ * This class measures {@link FourierTransform} on power-of-two sizes (radix-2)
+ * and on other sizes (Bluestein), in microseconds per transform.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FourierTransformBenchmark {
+
+    @Param({ "1000", "1024", "65536" })
+    private int size;
+
+    private ComplexArray input;
+
+    private double[] signal;
+
+    private ComplexArray result;
+
+    private ComplexArray spectrum;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        input = new ComplexArray(size);
+        signal = new double[size];
+        for (int i = 0; i < size; i++) {
+            input.set(i, random.nextGaussian(), random.nextGaussian());
+            signal[i] = random.nextGaussian();
+        }
+        result = new ComplexArray(size);
+        spectrum = new ComplexArray((size / 2) + 1);
+        FourierTransform.forward(input, result);
+    }
+
+    @Benchmark
+    public ComplexArray forward() {
+        return FourierTransform.forward(input, result);
+    }
+
+    @Benchmark
+    public ComplexArray forwardReal() {
+        return FourierTransform.forwardReal(signal, spectrum);
+    }
+
+    @Benchmark
+    public ComplexArray inverse() {
+        return FourierTransform.inverse(input, result);
+    }
+
+}
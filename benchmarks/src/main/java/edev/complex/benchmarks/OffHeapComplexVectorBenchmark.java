@@ -0,0 +1,98 @@
+package edev.complex.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edev.complex.ComplexArray;
+import edev.complex.OffHeapComplexVector;
+
+/**
+ * This class measures the element-wise operations of
+ * {@link OffHeapComplexVector}, in microseconds per pass over the whole vector,
+ * against the same operations of {@link ComplexArray} and a streaming pass
+ * through the heap.
+ *
+ * @author Ezeqèl
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OffHeapComplexVectorBenchmark {
+
+    @Param({ "65536", "1048576" })
+    private int size;
+
+    private ComplexArray array1;
+
+    private ComplexArray array2;
+
+    private ComplexArray arrayResult;
+
+    private double[] magnitudes;
+
+    private OffHeapComplexVector vector1;
+
+    private OffHeapComplexVector vector2;
+
+    private OffHeapComplexVector vectorResult;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        array1 = new ComplexArray(size);
+        array2 = new ComplexArray(size);
+        for (int i = 0; i < size; i++) {
+            array1.set(i, random.nextGaussian(), random.nextGaussian());
+            array2.set(i, random.nextGaussian(), random.nextGaussian());
+        }
+        arrayResult = new ComplexArray(size);
+        vector1 = OffHeapComplexVector.allocate(size);
+        vector2 = OffHeapComplexVector.allocate(size);
+        vectorResult = OffHeapComplexVector.allocate(size);
+        vector1.write(0, array1);
+        vector2.write(0, array2);
+        magnitudes = new double[size];
+    }
+
+    @Benchmark
+    public ComplexArray arrayMultiply() {
+        return ComplexArray.multiply(array1, array2, arrayResult);
+    }
+
+    @Benchmark
+    public OffHeapComplexVector vectorAdd() {
+        return OffHeapComplexVector.add(vector1, vector2, vectorResult);
+    }
+
+    @Benchmark
+    public double[] vectorMagnitude() {
+        return vector1.getMagnitude(0, magnitudes);
+    }
+
+    @Benchmark
+    public OffHeapComplexVector vectorMultiply() {
+        return OffHeapComplexVector.multiply(vector1, vector2, vectorResult);
+    }
+
+    @Benchmark
+    public OffHeapComplexVector vectorStreaming() {
+        vectorResult.forEachBlock(4096, (offset, block) -> ComplexArray.multiply(block, block, block));
+        return vectorResult;
+    }
+
+}